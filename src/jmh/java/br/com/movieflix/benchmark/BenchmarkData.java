@@ -0,0 +1,60 @@
+package br.com.movieflix.benchmark;
+
+import br.com.movieflix.controller.request.MovieRequest;
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.entity.User;
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+class BenchmarkData {
+
+    static final String SECRET = "benchmark-secret";
+
+    private static final List<Category> CATEGORIES = List.of(
+            Category.builder().id(1L).name("Action").build(),
+            Category.builder().id(2L).name("Drama").build(),
+            Category.builder().id(3L).name("Science Fiction").build());
+
+    private static final List<Streaming> STREAMINGS = List.of(
+            Streaming.builder().id(1L).name("Netflix").build(),
+            Streaming.builder().id(2L).name("Prime Video").build());
+
+    static MovieRequest movieRequest() {
+        return new MovieRequest("Inception",
+                "A mind-bending thriller about dreams within dreams.",
+                LocalDate.of(2010, 7, 16),
+                8.8,
+                List.of(1L, 2L, 3L),
+                List.of(1L, 2L));
+    }
+
+    static Movie movie(long id) {
+        return Movie.builder()
+                .id(id)
+                .title("Inception " + id)
+                .description("A mind-bending thriller about dreams within dreams.")
+                .releaseDate(LocalDate.of(2010, 7, 16))
+                .rating(8.8)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .categories(new ArrayList<>(CATEGORIES))
+                .streaming(new ArrayList<>(STREAMINGS))
+                .build();
+    }
+
+    static User user() {
+        return User.builder()
+                .id(1L)
+                .name("Benchmark")
+                .email("benchmark@movieflix.com")
+                .password("password")
+                .build();
+    }
+}
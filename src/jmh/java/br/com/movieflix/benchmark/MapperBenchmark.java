@@ -0,0 +1,82 @@
+package br.com.movieflix.benchmark;
+
+import br.com.movieflix.controller.request.CategoryRequest;
+import br.com.movieflix.controller.request.MovieRequest;
+import br.com.movieflix.controller.request.StreamingRequest;
+import br.com.movieflix.controller.response.CategoryResponse;
+import br.com.movieflix.controller.response.MovieResponse;
+import br.com.movieflix.controller.response.StreamingResponse;
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.mapper.CategoryMapper;
+import br.com.movieflix.mapper.MovieMapper;
+import br.com.movieflix.mapper.StreamingMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private MovieRequest movieRequest;
+    private Movie movie;
+    private CategoryRequest categoryRequest;
+    private Category category;
+    private StreamingRequest streamingRequest;
+    private Streaming streaming;
+
+    @Setup
+    public void setUp() {
+        movieRequest = BenchmarkData.movieRequest();
+        movie = BenchmarkData.movie(1L);
+        categoryRequest = new CategoryRequest("Action");
+        category = movie.getCategories().get(0);
+        streamingRequest = new StreamingRequest("Netflix");
+        streaming = movie.getStreaming().get(0);
+    }
+
+    @Benchmark
+    public Movie toMovie() {
+        return MovieMapper.toMovie(movieRequest);
+    }
+
+    @Benchmark
+    public MovieResponse toMovieResponse() {
+        return MovieMapper.toMovieResponse(movie);
+    }
+
+    @Benchmark
+    public Category toCategory() {
+        return CategoryMapper.toCategory(categoryRequest);
+    }
+
+    @Benchmark
+    public CategoryResponse toCategoryResponse() {
+        return CategoryMapper.toCategoryResponse(category);
+    }
+
+    @Benchmark
+    public Streaming toStreaming() {
+        return StreamingMapper.toStreaming(streamingRequest);
+    }
+
+    @Benchmark
+    public StreamingResponse toStreamingResponse() {
+        return StreamingMapper.toStreamingResponse(streaming);
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.movieflix.benchmark;
+
+import br.com.movieflix.cache.MovieRankingIndex;
+import br.com.movieflix.repository.MovieRanking;
+import br.com.movieflix.repository.RankedMovie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieRankingIndexBenchmark {
+
+    private static final int MOVIES = 200_000;
+    private static final int CATEGORIES = 20;
+    private static final int LIMIT = 10;
+
+    private final double[] ratings = new double[MOVIES];
+    private final long[] categories = new long[MOVIES];
+
+    private MovieRankingIndex index;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < MOVIES; i++) {
+            ratings[i] = random.nextInt(101) / 10.0;
+            categories[i] = 1 + random.nextInt(CATEGORIES);
+        }
+        index = new MovieRankingIndex(100, (ranking, categoryId, limit) ->
+                ranking == MovieRanking.RATING ? this.scan(categoryId, limit) : List.of());
+        index.warm(LongStream.rangeClosed(1, CATEGORIES).boxed().toList());
+    }
+
+    @Benchmark
+    public long[] topByRating() {
+        return index.findTop(MovieRanking.RATING, randomCategory(), LIMIT);
+    }
+
+    // what a request would do without the index, over the same data held in memory
+    @Benchmark
+    public List<RankedMovie> topByScan() {
+        return this.scan(randomCategory(), LIMIT);
+    }
+
+    @Benchmark
+    @Group("readWhileUpdating")
+    @GroupThreads(3)
+    public long[] readWhileUpdating() {
+        return index.findTop(MovieRanking.RATING, randomCategory(), LIMIT);
+    }
+
+    @Benchmark
+    @Group("readWhileUpdating")
+    @GroupThreads(1)
+    public void updateWhileReading() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int movie = random.nextInt(MOVIES);
+        double rating = random.nextInt(101) / 10.0;
+        ratings[movie] = rating;
+        Map<MovieRanking, Double> scores = new EnumMap<>(MovieRanking.class);
+        scores.put(MovieRanking.RATING, rating);
+        index.put((long) movie, List.of(categories[movie]), scores);
+    }
+
+    private List<RankedMovie> scan(Long categoryId, int limit) {
+        return IntStream.range(0, MOVIES)
+                .filter(movie -> categoryId == null || categories[movie] == categoryId)
+                .mapToObj(movie -> new RankedMovie(movie, ratings[movie]))
+                .sorted(RankedMovie.ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private static Long randomCategory() {
+        return 1L + ThreadLocalRandom.current().nextInt(CATEGORIES);
+    }
+}
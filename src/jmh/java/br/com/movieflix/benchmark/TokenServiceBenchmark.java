@@ -0,0 +1,55 @@
+package br.com.movieflix.benchmark;
+
+import br.com.movieflix.config.JWTUserData;
+import br.com.movieflix.config.TokenService;
+import br.com.movieflix.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private TokenService cachingTokenService;
+    private TokenService uncachedTokenService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingTokenService = new TokenService(BenchmarkData.SECRET, 10000);
+        uncachedTokenService = new TokenService(BenchmarkData.SECRET, 0);
+        user = BenchmarkData.user();
+        token = cachingTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingTokenService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> verifyTokenCached() {
+        return cachingTokenService.verifyToken(token);
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> verifyTokenUncached() {
+        return uncachedTokenService.verifyToken(token);
+    }
+}
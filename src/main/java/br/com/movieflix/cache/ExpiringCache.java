@@ -0,0 +1,115 @@
+package br.com.movieflix.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// reads never lock or reorder anything; a put that takes the cache over its bound evicts in insertion order
+public class ExpiringCache<K, V> {
+
+    private final int maxSize;
+    private final Clock clock;
+    private final Map<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    // one node per inserted key, oldest first; nodes whose key was removed since are skipped and swept
+    private final Queue<Node<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ExpiringCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public Optional<V> get(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node != null) {
+            Entry<V> entry = node.entry;
+            if (clock.instant().isBefore(entry.expiresAt())) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            // unless a put refreshed the entry meanwhile
+            entries.computeIfPresent(key, (k, current) -> current == node && current.entry == entry ? null : current);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(K key, V value, Instant expiresAt) {
+        if (maxSize <= 0 || expiresAt == null || !clock.instant().isBefore(expiresAt)) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, expiresAt);
+        Node<K, V> created = new Node<>(key, entry);
+        Node<K, V> node = entries.compute(key, (k, current) -> {
+            if (current == null) {
+                return created;
+            }
+            current.entry = entry;
+            return current;
+        });
+        if (node == created) {
+            insertionOrder.add(node);
+            queued.incrementAndGet();
+        }
+        this.evict();
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void evict() {
+        while (entries.size() > maxSize) {
+            Node<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            queued.decrementAndGet();
+            entries.remove(oldest.key, oldest);
+        }
+        // removed and expired keys leave their nodes behind; sweep them once they outnumber the live ones
+        if (queued.get() > 2 * Math.max(maxSize, entries.size())) {
+            insertionOrder.removeIf(node -> {
+                boolean stale = entries.get(node.key) != node;
+                if (stale) {
+                    queued.decrementAndGet();
+                }
+                return stale;
+            });
+        }
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private volatile Entry<V> entry;
+
+        private Node(K key, Entry<V> entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,240 @@
+package br.com.movieflix.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class MovieCategoryIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final Supplier<Map<Long, long[]>> loadAll;
+
+    private final AtomicReference<Map<Long, long[]>> index = new AtomicReference<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock: the load in flight, if any, and the writes it has to replay before publishing
+    private CompletableFuture<Map<Long, long[]>> loading;
+    private final List<Consumer<Map<Long, long[]>>> racingWrites = new ArrayList<>();
+
+    public MovieCategoryIndex(Supplier<Map<Long, long[]>> loadAll) {
+        this.loadAll = loadAll;
+    }
+
+    public long[] findMovieIds(Collection<Long> categoryIds, boolean allCategories, long offset, int limit) {
+        Map<Long, long[]> current = Optional.ofNullable(index.get()).orElseGet(this::load);
+        List<long[]> movieIds = new ArrayList<>();
+        for (Long categoryId : new LinkedHashSet<>(categoryIds)) {
+            movieIds.add(current.getOrDefault(categoryId, EMPTY));
+        }
+        if (movieIds.size() == 1) {
+            long[] ids = movieIds.get(0);
+            int from = (int) Math.min(offset, ids.length);
+            return Arrays.copyOfRange(ids, from, (int) Math.min((long) from + limit, ids.length));
+        }
+        return allCategories ? intersect(movieIds, offset, limit) : union(movieIds, offset, limit);
+    }
+
+    public void put(Long movieId, Collection<Long> categoryIds) {
+        this.putAll(Map.of(movieId, categoryIds));
+    }
+
+    public void putAll(Map<Long, ? extends Collection<Long>> categoryIdsByMovie) {
+        long[] movieIds = toSortedArray(categoryIdsByMovie.keySet());
+        Map<Long, List<Long>> addedByCategory = new HashMap<>();
+        categoryIdsByMovie.forEach((movieId, categoryIds) -> categoryIds.forEach(categoryId ->
+                addedByCategory.computeIfAbsent(categoryId, key -> new ArrayList<>()).add(movieId)));
+
+        this.write(current -> {
+            Set<Long> categoryIds = new HashSet<>(current.keySet());
+            categoryIds.addAll(addedByCategory.keySet());
+            for (Long categoryId : categoryIds) {
+                long[] added = toSortedArray(addedByCategory.getOrDefault(categoryId, List.of()));
+                current.compute(categoryId, (key, ids) -> replace(ids == null ? EMPTY : ids, movieIds, added));
+            }
+        });
+    }
+
+    public void remove(Long movieId) {
+        this.put(movieId, List.of());
+    }
+
+    public void removeCategory(Long categoryId) {
+        this.write(current -> current.remove(categoryId));
+    }
+
+    // writes set a movie's whole membership, so replaying one the load already saw changes nothing; each runs
+    // under the lock, as it patches several categories and two writes for one movie must not interleave
+    private void write(Consumer<Map<Long, long[]>> write) {
+        lock.lock();
+        try {
+            Map<Long, long[]> current = index.get();
+            if (current != null) {
+                write.accept(current);
+            } else if (loading != null) {
+                racingWrites.add(write);
+            }
+            // without a load in flight the next one reads the committed write from the database
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // one caller loads while the others wait on its future, and the database is read outside the lock
+    private Map<Long, long[]> load() {
+        CompletableFuture<Map<Long, long[]>> future;
+        lock.lock();
+        try {
+            Map<Long, long[]> current = index.get();
+            if (current != null) {
+                return current;
+            }
+            if (loading != null) {
+                future = loading;
+            } else {
+                loading = new CompletableFuture<>();
+                future = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return future == null ? this.loadAndPublish() : join(future);
+    }
+
+    private Map<Long, long[]> loadAndPublish() {
+        CompletableFuture<Map<Long, long[]>> future;
+        try {
+            Map<Long, long[]> loaded = new ConcurrentHashMap<>(loadAll.get());
+            lock.lock();
+            try {
+                racingWrites.forEach(write -> write.accept(loaded));
+                index.set(loaded);
+                future = this.finishLoading();
+            } finally {
+                lock.unlock();
+            }
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                future = this.finishLoading();
+            } finally {
+                lock.unlock();
+            }
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<Map<Long, long[]>> finishLoading() {
+        CompletableFuture<Map<Long, long[]>> future = loading;
+        loading = null;
+        racingWrites.clear();
+        return future;
+    }
+
+    private static Map<Long, long[]> join(CompletableFuture<Map<Long, long[]>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // drops every id in replaced from ids and merges added back in, keeping the array sorted
+    private static long[] replace(long[] ids, long[] replaced, long[] added) {
+        if (added.length == 0 && Arrays.stream(replaced).noneMatch(id -> Arrays.binarySearch(ids, id) >= 0)) {
+            return ids.length == 0 ? null : ids;
+        }
+        long[] merged = new long[ids.length + added.length];
+        int size = 0;
+        int a = 0;
+        for (long id : ids) {
+            if (Arrays.binarySearch(replaced, id) >= 0) {
+                continue;
+            }
+            while (a < added.length && added[a] < id) {
+                merged[size++] = added[a++];
+            }
+            merged[size++] = id;
+        }
+        while (a < added.length) {
+            merged[size++] = added[a++];
+        }
+        return size == 0 ? null : Arrays.copyOf(merged, size);
+    }
+
+    private static long[] union(List<long[]> movieIds, long offset, int limit) {
+        int[] positions = new int[movieIds.size()];
+        long[] page = new long[limit];
+        int size = 0;
+        long skipped = 0;
+        while (size < limit) {
+            long next = Long.MAX_VALUE;
+            for (int i = 0; i < positions.length; i++) {
+                long[] ids = movieIds.get(i);
+                if (positions[i] < ids.length) {
+                    next = Math.min(next, ids[positions[i]]);
+                }
+            }
+            if (next == Long.MAX_VALUE) {
+                break;
+            }
+            for (int i = 0; i < positions.length; i++) {
+                long[] ids = movieIds.get(i);
+                if (positions[i] < ids.length && ids[positions[i]] == next) {
+                    positions[i]++;
+                }
+            }
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                page[size++] = next;
+            }
+        }
+        return Arrays.copyOf(page, size);
+    }
+
+    private static long[] intersect(List<long[]> movieIds, long offset, int limit) {
+        List<long[]> bySize = new ArrayList<>(movieIds);
+        bySize.sort((a, b) -> Integer.compare(a.length, b.length));
+        long[] page = new long[limit];
+        int size = 0;
+        long skipped = 0;
+        for (long id : bySize.get(0)) {
+            if (size == limit) {
+                break;
+            }
+            if (bySize.stream().skip(1).allMatch(ids -> Arrays.binarySearch(ids, id) >= 0)) {
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    page[size++] = id;
+                }
+            }
+        }
+        return Arrays.copyOf(page, size);
+    }
+
+    private static long[] toSortedArray(Collection<Long> ids) {
+        return ids.stream()
+                .mapToLong(Long::longValue)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+}
@@ -0,0 +1,207 @@
+package br.com.movieflix.cache;
+
+import br.com.movieflix.repository.MovieRanking;
+import br.com.movieflix.repository.RankedMovie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// the top movies per ranking and category; reads walk a skip list without locking and writes are serialized.
+// A missing list is loaded once, outside the lock, and the writes made while it loads are replayed before it is published
+public class MovieRankingIndex {
+
+    private final int maxLimit;
+    private final int depth;
+    private final TopLoader loadTop;
+
+    private final Map<ListKey, RankedList> lists = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by lock
+    private final Map<ListKey, Loading> loading = new HashMap<>();
+
+    public MovieRankingIndex(int maxLimit, TopLoader loadTop) {
+        this.maxLimit = maxLimit;
+        this.depth = maxLimit * 2;
+        this.loadTop = loadTop;
+    }
+
+    public long[] findTop(MovieRanking ranking, Long categoryId, int limit) {
+        ListKey key = new ListKey(ranking, categoryId);
+        RankedList list = lists.get(key);
+        if (list == null) {
+            list = this.load(key);
+        }
+        long[] movieIds = new long[Math.min(limit, maxLimit)];
+        int size = 0;
+        for (RankedMovie movie : list.ranked) {
+            if (size == movieIds.length) {
+                break;
+            }
+            movieIds[size++] = movie.movieId();
+        }
+        return Arrays.copyOf(movieIds, size);
+    }
+
+    public void warm(Collection<Long> categoryIds) {
+        List<Long> keys = new ArrayList<>(categoryIds);
+        keys.add(null);
+        for (MovieRanking ranking : MovieRanking.values()) {
+            keys.forEach(categoryId -> this.load(new ListKey(ranking, categoryId)));
+        }
+    }
+
+    public void put(Long movieId, Collection<Long> categoryIds, Map<MovieRanking, Double> scores) {
+        Write write = new Write(movieId, categoryIds, scores);
+        lock.lock();
+        try {
+            lists.entrySet().removeIf(entry -> !this.apply(entry.getKey(), entry.getValue(), write));
+            loading.values().forEach(pending -> pending.writes.add(write));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long movieId) {
+        this.put(movieId, List.of(), Map.of());
+    }
+
+    public void removeCategory(Long categoryId) {
+        lock.lock();
+        try {
+            lists.keySet().removeIf(key -> categoryId.equals(key.categoryId()));
+            loading.forEach((key, pending) -> pending.discarded |= categoryId.equals(key.categoryId()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the first caller for a key runs the query without holding the lock, later callers wait on its future
+    private RankedList load(ListKey key) {
+        Loading pending;
+        boolean loader;
+        lock.lock();
+        try {
+            RankedList list = lists.get(key);
+            if (list != null) {
+                return list;
+            }
+            pending = loading.get(key);
+            loader = pending == null;
+            if (loader) {
+                pending = new Loading();
+                loading.put(key, pending);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loader ? this.loadAndPublish(key, pending) : join(pending.future);
+    }
+
+    private RankedList loadAndPublish(ListKey key, Loading pending) {
+        RankedList list;
+        try {
+            List<RankedMovie> top = loadTop.load(key.ranking(), key.categoryId(), depth);
+            list = new RankedList(top, top.size() == depth);
+        } catch (RuntimeException ex) {
+            lock.lock();
+            try {
+                loading.remove(key);
+            } finally {
+                lock.unlock();
+            }
+            pending.future.completeExceptionally(ex);
+            throw ex;
+        }
+        lock.lock();
+        try {
+            loading.remove(key);
+            boolean usable = !pending.discarded;
+            for (Write write : pending.writes) {
+                usable &= this.apply(key, list, write);
+            }
+            // a list the racing writes left too short, or whose category went away, is answered once and not kept
+            if (usable) {
+                lists.put(key, list);
+            }
+        } finally {
+            lock.unlock();
+        }
+        pending.future.complete(list);
+        return list;
+    }
+
+    private boolean apply(ListKey key, RankedList list, Write write) {
+        Double score = write.scores().get(key.ranking());
+        boolean ranked = score != null && (key.categoryId() == null || write.categoryIds().contains(key.categoryId()));
+        return list.replace(write.movieId(), ranked ? new RankedMovie(write.movieId(), score) : null, depth);
+    }
+
+    private static RankedList join(CompletableFuture<RankedList> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    @FunctionalInterface
+    public interface TopLoader {
+        List<RankedMovie> load(MovieRanking ranking, Long categoryId, int limit);
+    }
+
+    private record ListKey(MovieRanking ranking, Long categoryId) {
+    }
+
+    private record Write(Long movieId, Collection<Long> categoryIds, Map<MovieRanking, Double> scores) {
+    }
+
+    private static final class Loading {
+
+        private final CompletableFuture<RankedList> future = new CompletableFuture<>();
+        private final List<Write> writes = new ArrayList<>();
+        private boolean discarded;
+    }
+
+    // holds the true top of its category, or all of it when it was never truncated; the index lock guards every write
+    private static final class RankedList {
+
+        private final ConcurrentSkipListSet<RankedMovie> ranked = new ConcurrentSkipListSet<>(RankedMovie.ORDER);
+        private final Map<Long, RankedMovie> byMovie = new HashMap<>();
+        private boolean truncated;
+
+        RankedList(List<RankedMovie> top, boolean truncated) {
+            top.forEach(movie -> {
+                ranked.add(movie);
+                byMovie.put(movie.movieId(), movie);
+            });
+            this.truncated = truncated;
+        }
+
+        // false once too few movies are left to answer a read, and the list has to be loaded again
+        boolean replace(Long movieId, RankedMovie movie, int depth) {
+            RankedMovie previous = byMovie.remove(movieId);
+            if (previous != null) {
+                ranked.remove(previous);
+            }
+            // a truncated list does not know the movies below its last one, so it only takes movies that rank above it
+            if (movie != null && (!truncated || (!ranked.isEmpty() && RankedMovie.ORDER.compare(movie, ranked.last()) < 0))) {
+                ranked.add(movie);
+                byMovie.put(movieId, movie);
+                if (byMovie.size() > depth) {
+                    byMovie.remove(ranked.pollLast().movieId());
+                    truncated = true;
+                }
+            }
+            return !truncated || byMovie.size() >= depth / 2;
+        }
+    }
+}
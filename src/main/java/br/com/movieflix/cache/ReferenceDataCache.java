@@ -0,0 +1,171 @@
+package br.com.movieflix.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class ReferenceDataCache<T> {
+
+    private final Function<T, Long> idGetter;
+    private final Function<T, ?> contentGetter;
+    private final Supplier<List<T>> loadAll;
+    private final Function<List<Long>, List<T>> loadAllById;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicReference<Snapshot<T>> snapshot = new AtomicReference<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReferenceDataCache(Function<T, Long> idGetter,
+                              Function<T, ?> contentGetter,
+                              Supplier<List<T>> loadAll,
+                              Function<List<Long>, List<T>> loadAllById) {
+        this.idGetter = idGetter;
+        this.contentGetter = contentGetter;
+        this.loadAll = loadAll;
+        this.loadAllById = loadAllById;
+    }
+
+    public List<T> findAll() {
+        Snapshot<T> current = snapshot.get();
+        if (current != null) {
+            hits.increment();
+            return current.values();
+        }
+        misses.increment();
+        return this.load().values();
+    }
+
+    public Optional<T> findById(Long id) {
+        return this.findAllById(List.of(id)).stream().findFirst();
+    }
+
+    public List<T> findAllById(Collection<Long> ids) {
+        Snapshot<T> current = Optional.ofNullable(snapshot.get()).orElseGet(this::load);
+        List<T> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                continue;
+            }
+            T value = current.byId().get(id);
+            if (value != null) {
+                hits.increment();
+                found.add(value);
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<T> loaded = loadAllById.apply(missing);
+            loaded.forEach(this::put);
+            found.addAll(loaded);
+        }
+        return found;
+    }
+
+    public void put(T value) {
+        long version = writes.incrementAndGet();
+        snapshot.updateAndGet(current -> current == null ? null : current.with(idGetter.apply(value), value, idGetter, version));
+    }
+
+    public void remove(Long id) {
+        long version = writes.incrementAndGet();
+        snapshot.updateAndGet(current -> current == null ? null : current.without(id, idGetter, version));
+    }
+
+    // picks up rows written by other instances or directly in the database; the version, and with it
+    // the list ETags, only changes when the reloaded rows differ from the snapshot
+    public void refresh() {
+        Snapshot<T> current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        long writesBeforeLoad = writes.get();
+        Map<Long, T> byId = this.loadById();
+        if (this.sameContent(current.byId(), byId) || writes.get() != writesBeforeLoad) {
+            return;
+        }
+        snapshot.compareAndSet(current, Snapshot.of(byId, idGetter, writes.incrementAndGet()));
+    }
+
+    public String version() {
+        Snapshot<T> current = Optional.ofNullable(snapshot.get()).orElseGet(this::load);
+        return instanceId + "-" + current.version();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private Snapshot<T> load() {
+        long writesBeforeLoad = writes.get();
+        Snapshot<T> loaded = Snapshot.of(this.loadById(), idGetter, writesBeforeLoad);
+        // a write that raced with the load may be missing from it, so only publish a clean load
+        if (writes.get() == writesBeforeLoad) {
+            snapshot.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    private Map<Long, T> loadById() {
+        Map<Long, T> byId = new HashMap<>();
+        loadAll.get().forEach(value -> byId.put(idGetter.apply(value), value));
+        return byId;
+    }
+
+    private boolean sameContent(Map<Long, T> current, Map<Long, T> loaded) {
+        if (current.size() != loaded.size()) {
+            return false;
+        }
+        return loaded.entrySet()
+                .stream()
+                .allMatch(entry -> current.containsKey(entry.getKey())
+                        && Objects.equals(contentGetter.apply(current.get(entry.getKey())), contentGetter.apply(entry.getValue())));
+    }
+
+    private record Snapshot<T>(Map<Long, T> byId, List<T> values, long version) {
+
+        static <T> Snapshot<T> of(Map<Long, T> byId, Function<T, Long> idGetter, long version) {
+            List<T> values = byId.values()
+                    .stream()
+                    .sorted(Comparator.comparing(idGetter))
+                    .toList();
+            return new Snapshot<>(Collections.unmodifiableMap(byId), values, version);
+        }
+
+        Snapshot<T> with(Long id, T value, Function<T, Long> idGetter, long version) {
+            Map<Long, T> copy = new HashMap<>(byId);
+            copy.put(Objects.requireNonNull(id), value);
+            return of(copy, idGetter, version);
+        }
+
+        Snapshot<T> without(Long id, Function<T, Long> idGetter, long version) {
+            if (!byId.containsKey(id)) {
+                return this;
+            }
+            Map<Long, T> copy = new HashMap<>(byId);
+            copy.remove(id);
+            return of(copy, idGetter, version);
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package br.com.movieflix.config;
 
+import br.com.movieflix.exception.EmailAlreadyRegisteredException;
+import br.com.movieflix.exception.InvalidCursorException;
+import br.com.movieflix.exception.InvalidFieldsException;
+import br.com.movieflix.exception.InvalidSortException;
 import br.com.movieflix.exception.UsernameOrPasswordInvalidException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class ApplicationControllerAdvice {
@@ -20,7 +26,44 @@ public class ApplicationControllerAdvice {
         return ex.getMessage();
     }
 
-    @ExceptionHandler(UsernameOrPasswordInvalidException.class)
+    @ExceptionHandler(EmailAlreadyRegisteredException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String handleEmailAlreadyRegisteredException(EmailAlreadyRegisteredException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidCursorException(InvalidCursorException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidSortException(InvalidSortException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String handleInvalidFieldsException(InvalidFieldsException ex) {
+        return ex.getMessage();
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleRejectedExecutionException(RejectedExecutionException ex) {
+        return "Server is busy, try again later";
+    }
+
+    // also what a reactive read gets when no pooled connection frees up within the acquire timeout
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handleDataAccessResourceFailureException(DataAccessResourceFailureException ex) {
+        return "Server is busy, try again later";
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleArgumentNotValidException(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
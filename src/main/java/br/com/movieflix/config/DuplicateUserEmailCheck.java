@@ -0,0 +1,68 @@
+package br.com.movieflix.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// V7 adds a unique index on users.email; rather than pick which account to keep, it stops on duplicates
+// and names them, so they can be merged by hand before the migration runs again
+@Component
+public class DuplicateUserEmailCheck implements Callback {
+
+    private static final MigrationVersion UNIQUE_EMAIL_VERSION = MigrationVersion.fromVersion("7");
+    private static final int MAX_REPORTED = 20;
+
+    private static final String DUPLICATE_EMAILS = """
+            SELECT email, count(*)
+            FROM users
+            GROUP BY email
+            HAVING count(*) > 1
+            ORDER BY email
+            """;
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE
+                && context.getMigrationInfo() != null
+                && UNIQUE_EMAIL_VERSION.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        int total = 0;
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet rs = statement.executeQuery(DUPLICATE_EMAILS)) {
+            while (rs.next()) {
+                if (total++ < MAX_REPORTED) {
+                    duplicates.add(rs.getString(1) + " (" + rs.getLong(2) + " accounts)");
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check users for duplicate emails", e);
+        }
+        if (total > 0) {
+            throw new FlywayException(total + " emails belong to more than one user, merge or remove those accounts before "
+                    + "migrating to version 7: " + String.join(", ", duplicates) + (total > MAX_REPORTED ? ", ..." : ""));
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "duplicate-user-email-check";
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.movieflix.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+// the port the actuator's own server actually listens on, which is random in tests; unset when
+// actuator shares the application port, so its endpoints then stay behind authentication
+@Component
+public class ManagementServerPort implements ApplicationListener<WebServerInitializedEvent> {
+
+    private volatile int port = -1;
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if ("management".equals(event.getApplicationContext().getServerNamespace())) {
+            port = event.getWebServer().getPort();
+        }
+    }
+
+    public boolean matches(int localPort) {
+        return port > 0 && port == localPort;
+    }
+}
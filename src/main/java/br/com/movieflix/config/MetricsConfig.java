@@ -0,0 +1,67 @@
+package br.com.movieflix.config;
+
+import br.com.movieflix.cache.ExpiringCache;
+import br.com.movieflix.cache.ReferenceDataCache;
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.service.MovieResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder tokenServiceMetrics(TokenService tokenService) {
+        return registry -> {
+            FunctionTimer.builder("movieflix.jwt.verify", tokenService,
+                            TokenService::verifyCount, TokenService::verifyNanos, TimeUnit.NANOSECONDS)
+                    .description("JWT verification in SecurityFilter, including token cache hits")
+                    .register(registry);
+            bindCacheCounters(registry, "token", tokenService.verifiedTokens(),
+                    ExpiringCache::hitCount, ExpiringCache::missCount);
+            Gauge.builder("movieflix.cache.size", tokenService.verifiedTokens(), ExpiringCache::size)
+                    .tag("cache", "token")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder referenceDataCacheMetrics(ReferenceDataCache<Category> categoryCache,
+                                                 ReferenceDataCache<Streaming> streamingCache) {
+        return registry -> {
+            bindCacheCounters(registry, "category", categoryCache, ReferenceDataCache::hitCount, ReferenceDataCache::missCount);
+            bindCacheCounters(registry, "streaming", streamingCache, ReferenceDataCache::hitCount, ReferenceDataCache::missCount);
+        };
+    }
+
+    @Bean
+    public MeterBinder movieResponseCacheMetrics(MovieResponseCache movieResponseCache) {
+        return registry -> {
+            bindCacheCounters(registry, "movie-response", movieResponseCache,
+                    MovieResponseCache::hitCount, MovieResponseCache::missCount);
+            Gauge.builder("movieflix.cache.size", movieResponseCache, MovieResponseCache::size)
+                    .tag("cache", "movie-response")
+                    .register(registry);
+        };
+    }
+
+    private static <T> void bindCacheCounters(MeterRegistry registry, String cache, T source,
+                                              ToDoubleFunction<T> hits,
+                                              ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("movieflix.cache.requests", source, hits)
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("movieflix.cache.requests", source, misses)
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+}
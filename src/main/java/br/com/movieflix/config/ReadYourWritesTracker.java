@@ -0,0 +1,39 @@
+package br.com.movieflix.config;
+
+import br.com.movieflix.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Component
+public class ReadYourWritesTracker {
+
+    private final Duration window;
+    private final Clock clock;
+    private final ExpiringCache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(@Value("${movieflix.datasource.read-your-writes.window}") Duration window,
+                                 @Value("${movieflix.datasource.read-your-writes.max-users}") int maxUsers) {
+        this.window = window;
+        this.clock = Clock.systemUTC();
+        this.recentWriters = new ExpiringCache<>(maxUsers, clock);
+    }
+
+    public void recordWrite(Long userId) {
+        if (userId != null && !window.isZero()) {
+            recentWriters.put(userId, Boolean.TRUE, clock.instant().plus(window));
+        }
+    }
+
+    public boolean isCurrentUserPinnedToPrimary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JWTUserData userData) {
+            return recentWriters.get(userData.id()).isPresent();
+        }
+        return false;
+    }
+}
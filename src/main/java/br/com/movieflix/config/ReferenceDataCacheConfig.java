@@ -0,0 +1,38 @@
+package br.com.movieflix.config;
+
+import br.com.movieflix.cache.MovieCategoryIndex;
+import br.com.movieflix.cache.MovieRankingIndex;
+import br.com.movieflix.cache.ReferenceDataCache;
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.repository.CategoryRepository;
+import br.com.movieflix.repository.MovieBulkRepository;
+import br.com.movieflix.repository.StreamingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    @Bean
+    public ReferenceDataCache<Category> categoryCache(CategoryRepository repository) {
+        return new ReferenceDataCache<>(Category::getId, Category::getName, repository::findAll, repository::findAllById);
+    }
+
+    @Bean
+    public ReferenceDataCache<Streaming> streamingCache(StreamingRepository repository) {
+        return new ReferenceDataCache<>(Streaming::getId, Streaming::getName, repository::findAll, repository::findAllById);
+    }
+
+    @Bean
+    public MovieCategoryIndex movieCategoryIndex(MovieBulkRepository repository) {
+        return new MovieCategoryIndex(repository::findMovieIdsByCategory);
+    }
+
+    @Bean
+    public MovieRankingIndex movieRankingIndex(MovieBulkRepository repository,
+                                               @Value("${movieflix.movie.ranking.max-limit}") int maxLimit) {
+        return new MovieRankingIndex(maxLimit, repository::findTopRanked);
+    }
+}
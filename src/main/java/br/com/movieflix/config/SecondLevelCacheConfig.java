@@ -0,0 +1,58 @@
+package br.com.movieflix.config;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${movieflix.second-level-cache.movie.heap-entries}") long movieHeapEntries,
+                                              @Value("${movieflix.second-level-cache.movie.off-heap-mb}") long movieOffHeapMb,
+                                              @Value("${movieflix.second-level-cache.reference.heap-entries}") long referenceHeapEntries,
+                                              @Value("${movieflix.second-level-cache.query.heap-entries}") long queryHeapEntries,
+                                              @Value("${movieflix.second-level-cache.query.off-heap-mb}") long queryOffHeapMb) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(Movie.class.getName(), region(movieHeapEntries, movieOffHeapMb))
+                .withCache(Movie.class.getName() + ".categories", region(movieHeapEntries, movieOffHeapMb))
+                .withCache(Movie.class.getName() + ".streaming", region(movieHeapEntries, movieOffHeapMb))
+                .withCache(Category.class.getName(), region(referenceHeapEntries, 0))
+                .withCache(Streaming.class.getName(), region(referenceHeapEntries, 0))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryHeapEntries, queryOffHeapMb))
+                // one entry per table; evicting it would make cached queries look fresh after a write
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(1000, 0));
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:movieflix:second-level-cache:" + UUID.randomUUID()), configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CacheConfigurationBuilder<Object, Object> region(long heapEntries, long offHeapMb) {
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(heapEntries);
+        if (offHeapMb > 0) {
+            resourcePools = resourcePools.offheap(offHeapMb, MemoryUnit.MB);
+        }
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools);
+    }
+}
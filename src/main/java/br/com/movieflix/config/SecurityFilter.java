@@ -6,6 +6,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.util.Strings;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -20,6 +21,7 @@ import java.util.Optional;
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -34,6 +36,10 @@ public class SecurityFilter extends OncePerRequestFilter {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(UserData, null, new ArrayList<>());
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
+                if (!isSafe(request.getMethod())) {
+                    readYourWritesTracker.recordWrite(UserData.id());
+                }
+
             }
 
             filterChain.doFilter(request, response);
@@ -41,4 +47,8 @@ public class SecurityFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
         }
     }
-}
\ No newline at end of file
+
+    private static boolean isSafe(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -1,25 +1,41 @@
 package br.com.movieflix.config;
 
+import br.com.movieflix.cache.ExpiringCache;
 import br.com.movieflix.entity.User;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
 public class TokenService {
 
-    @Value("${movieflix.security.secret}")
-    private String secret;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final ExpiringCache<String, JWTUserData> verifiedTokens;
+    private final LongAdder verifyCount = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
 
-    public String generateToken(User username) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
+    public TokenService(@Value("${movieflix.security.secret}") String secret,
+                        @Value("${movieflix.security.token-cache-size}") int tokenCacheSize) {
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokens = new ExpiringCache<>(tokenCacheSize, Clock.systemUTC());
+    }
 
+    public String generateToken(User username) {
         return JWT.create()
                 .withSubject(username.getEmail())
                 .withClaim("userId", username.getId())
@@ -32,24 +48,53 @@ public class TokenService {
     }
 
     public Optional<JWTUserData> verifyToken(String token) {
+        long start = System.nanoTime();
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);
-            DecodedJWT jwt = JWT.require(algorithm)
-                    .build()
-                    .verify(token);
+            String tokenHash = hash(token);
+            Optional<JWTUserData> cached = verifiedTokens.get(tokenHash);
+            if (cached.isPresent()) {
+                return cached;
+            }
 
-            return Optional.of(JWTUserData
+            DecodedJWT jwt = verifier.verify(token);
+            JWTUserData userData = JWTUserData
                     .builder()
                     .id(jwt.getClaim("userId").asLong())
                     .name(jwt.getClaim("name").asString())
                     .email(jwt.getSubject())
-                    .build());
+                    .build();
+            verifiedTokens.put(tokenHash, userData, jwt.getExpiresAtAsInstant());
+
+            return Optional.of(userData);
 
         } catch (JWTVerificationException ex) {
             return Optional.empty();
 
+        } finally {
+            verifyCount.increment();
+            verifyNanos.add(System.nanoTime() - start);
         }
 
+    }
+
+    public ExpiringCache<String, JWTUserData> verifiedTokens() {
+        return verifiedTokens;
+    }
 
+    public long verifyCount() {
+        return verifyCount.sum();
+    }
+
+    public long verifyNanos() {
+        return verifyNanos.sum();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
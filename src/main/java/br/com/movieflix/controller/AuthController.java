@@ -1,5 +1,6 @@
 package br.com.movieflix.controller;
 
+import br.com.movieflix.config.PasswordHashingExecutor;
 import br.com.movieflix.config.TokenService;
 import br.com.movieflix.controller.request.LoginRequest;
 import br.com.movieflix.controller.request.UserRequest;
@@ -21,6 +22,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/movieflix/auth")
 @RequiredArgsConstructor
@@ -29,27 +32,30 @@ public class AuthController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final TokenService tokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @PostMapping("/register")
-    public ResponseEntity<UserResponse> register(@RequestBody UserRequest request){
-        User savedUser = userService.save(UserMapper.toUser(request));
-        return ResponseEntity.status(HttpStatus.CREATED).body(UserMapper.toUserResponse(savedUser));
+    public CompletableFuture<ResponseEntity<UserResponse>> register(@RequestBody UserRequest request){
+        return userService.save(UserMapper.toUser(request))
+                .thenApply(savedUser -> ResponseEntity.status(HttpStatus.CREATED).body(UserMapper.toUserResponse(savedUser)));
 
     }
 
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request){
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request){
+        return passwordHashingExecutor.submit(() -> this.authenticate(request))
+                .thenApply(user -> ResponseEntity.ok(new LoginResponse(tokenService.generateToken(user))));
+
+    }
+
+    private User authenticate(LoginRequest request){
         try {
             UsernamePasswordAuthenticationToken userAndPass =
                     new UsernamePasswordAuthenticationToken(request.email(), request.password());
 
             Authentication authenticate = authenticationManager.authenticate(userAndPass);
 
-            User user = (User) authenticate.getPrincipal();
-
-            String token = tokenService.generateToken(user);
-
-            return ResponseEntity.ok(new LoginResponse(token));
+            return (User) authenticate.getPrincipal();
 
         } catch (BadCredentialsException e) {
             throw new UsernameOrPasswordInvalidException("User osr password invalid");
@@ -0,0 +1,26 @@
+package br.com.movieflix.controller;
+
+import br.com.movieflix.controller.response.ChangeFeedResponse;
+import br.com.movieflix.mapper.ChangeEventMapper;
+import br.com.movieflix.service.ChangeEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/movieflix/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    private final ChangeEventService changeEventService;
+
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> findChanges(@RequestParam(defaultValue = "0") long since,
+                                                          @RequestParam(required = false) Integer limit) {
+        int pageSize = changeEventService.feedPageSize(limit);
+        return ResponseEntity.ok(ChangeEventMapper.toChangeFeedResponse(changeEventService.findSince(since, pageSize), since));
+    }
+}
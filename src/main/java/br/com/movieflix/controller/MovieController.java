@@ -1,10 +1,22 @@
 package br.com.movieflix.controller;
 
 import br.com.movieflix.controller.request.MovieRequest;
+import br.com.movieflix.controller.request.MovieSearchRequest;
+import br.com.movieflix.controller.response.BulkImportResponse;
+import br.com.movieflix.controller.response.MoviePageResponse;
 import br.com.movieflix.controller.response.MovieResponse;
+import br.com.movieflix.controller.response.MovieSummaryPageResponse;
+import br.com.movieflix.controller.response.MovieSummaryResponse;
 import br.com.movieflix.entity.Movie;
+import br.com.movieflix.mapper.CursorMapper;
 import br.com.movieflix.mapper.MovieMapper;
+import br.com.movieflix.repository.MovieField;
+import br.com.movieflix.service.MovieExportService;
+import br.com.movieflix.service.MovieImportService;
+import br.com.movieflix.service.MovieResponseBody;
+import br.com.movieflix.service.MovieResponseCache;
 import br.com.movieflix.service.MovieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,13 +24,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/movieflix/movie")
@@ -27,6 +53,10 @@ import java.util.Optional;
 public class MovieController {
 
     private final MovieService movieService;
+    private final MovieImportService movieImportService;
+    private final MovieExportService movieExportService;
+    private final MovieResponseCache movieResponseCache;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "save a new movie", description = "Saves a new movie with the provided details",
             security = @SecurityRequirement(name = "bearerAuth"))
@@ -39,13 +69,92 @@ public class MovieController {
 
     }
 
-    @Operation(summary = "get all movies", description = "Retrieves a list of all movies",
+    @Operation(summary = "bulk import movies", description = "Imports movies from a JSON array or newline-delimited JSON stream, saving them in batches and reporting the rows that failed. Every failure is counted in failed, only the first movieflix.movie.bulk-max-errors are listed",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Import finished",
+            content = @Content(schema = @Schema(implementation = BulkImportResponse.class)))
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResponse> bulkImport(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(movieImportService.importMovies(request.getInputStream()));
+
+    }
+
+    @Operation(summary = "get all movies", description = "Retrieves a page of movies ordered by ID, use the returned next cursor to fetch the following page",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Page of movies retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MoviePageResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content())
+    @GetMapping
+    public ResponseEntity<MoviePageResponse> findAll(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size){
+        int pageSize = movieService.pageSize(size);
+        List<Movie> movies = movieService.findPage(CursorMapper.toLastId(cursor), pageSize);
+        return ResponseEntity.ok(MovieMapper.toMoviePageResponse(movies, pageSize));
+
+    }
+
+    @Operation(summary = "get all movies with selected fields", description = "Retrieves a page of movies ordered by ID with only the requested fields, a comma-separated list of id, title, description, releaseDate, rating, categories and streamings, or summary for id, title, releaseDate and rating",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Page of movies retrieved successfully",
+            content = @Content(schema = @Schema(implementation = MovieSummaryPageResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unknown field", content = @Content())
+    @GetMapping(params = "fields")
+    public ResponseEntity<MovieSummaryPageResponse> findAllFields(@RequestParam String fields,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size){
+        Set<MovieField> movieFields = MovieMapper.toMovieFields(fields);
+        int pageSize = movieService.pageSize(size);
+        List<Movie> movies = movieService.findPage(movieFields, CursorMapper.toLastId(cursor), pageSize);
+        return ResponseEntity.ok(MovieMapper.toMovieSummaryPageResponse(movies, pageSize, movieFields));
+
+    }
+
+    @Operation(summary = "stream all movies", description = "Streams every movie as newline-delimited JSON",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Movies streamed successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = MovieResponse.class)))
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(){
+        StreamingResponseBody body = outputStream ->
+                movieService.streamAll(movie -> writeLine(outputStream, MovieMapper.toMovieResponse(movie)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+
+    }
+
+    @Operation(summary = "export all movies", description = "Downloads the whole catalog, with category and streaming IDs, as gzip-compressed NDJSON or CSV",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "Catalog exported successfully",
+            content = @Content(mediaType = "application/gzip"))
+    @ApiResponse(responseCode = "400", description = "Unknown export format", content = @Content())
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format){
+        StreamingResponseBody body;
+        if ("ndjson".equalsIgnoreCase(format)) {
+            body = movieExportService::exportNdjson;
+        } else if ("csv".equalsIgnoreCase(format)) {
+            body = movieExportService::exportCsv;
+        } else {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"movies." + format.toLowerCase() + ".gz\"")
+                .body(body);
+
+    }
+
+    @Operation(summary = "top movies", description = "Best rated or most recently released movies, overall or in one category",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "200", description = "List of movies retrieved successfully",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = MovieResponse.class))))
-    @GetMapping
-    public ResponseEntity<List<MovieResponse>> findAll(){
-        return ResponseEntity.ok(movieService.findAll()
+    @ApiResponse(responseCode = "400", description = "Unknown ranking", content = @Content())
+    @GetMapping("/top")
+    public ResponseEntity<List<MovieResponse>> findTop(@RequestParam(defaultValue = "rating") String by,
+                                                       @RequestParam(required = false) Long category,
+                                                       @RequestParam(required = false) Integer limit){
+        return ResponseEntity.ok(movieService.findTop(MovieMapper.toMovieRanking(by), category, movieService.topLimit(limit))
                 .stream()
                 .map(MovieMapper::toMovieResponse)
                 .toList());
@@ -56,11 +165,24 @@ public class MovieController {
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "200", description = "Movie retrieved successfully",
             content = @Content(schema = @Schema(implementation = MovieResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Movie not modified since the given ETag", content = @Content())
     @ApiResponse(responseCode = "404", description = "Movie not found", content = @Content())
     @GetMapping("/{id}")
-    public ResponseEntity<MovieResponse> findById(@PathVariable Long id){
-        return movieService.findById(id)
-                .map(movie -> ResponseEntity.ok(MovieMapper.toMovieResponse(movie)))
+    public ResponseEntity<byte[]> findById(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        Optional<LocalDateTime> version = movieService.findVersion(id);
+        Optional<String> notModified = version.flatMap(updatedAt -> this.matchETag(ifNoneMatch, id, updatedAt));
+        if (notModified.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(notModified.get())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        return version.flatMap(updatedAt -> movieResponseCache.get(id, updatedAt))
+                .or(() -> movieService.findById(id).map(movieResponseCache::put))
+                .map(body -> this.toJsonResponse(id, body, acceptEncoding))
                 .orElse(ResponseEntity.notFound().build());
 
     }
@@ -78,19 +200,75 @@ public class MovieController {
 
     }
 
-    @Operation(summary = "get movies by category", description = "Retrieves a list of movies filtered by category ID",
+    @Operation(summary = "filter movies", description = "Retrieves one page of the movies matching every given filter: categories (any or all), streaming services, minimum rating and release date window",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "200", description = "List of movies retrieved successfully",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = MovieResponse.class))))
-    @GetMapping("/search")
-    public ResponseEntity<List<MovieResponse>> findByCategory(@RequestParam Long category){
-        return ResponseEntity.ok(movieService.findByCategory(category)
+    @ApiResponse(responseCode = "400", description = "Invalid sort property", content = @Content())
+    @GetMapping(value = "/search", params = "!q")
+    public ResponseEntity<List<MovieResponse>> filter(@ParameterObject MovieSearchRequest request,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @SortDefault("id") Sort sort){
+        return ResponseEntity.ok(movieService.filter(MovieMapper.toMovieFilter(request), page, movieService.pageSize(size), sort)
                 .stream()
                 .map(MovieMapper::toMovieResponse)
                 .toList());
 
     }
 
+    @Operation(summary = "filter movies with selected fields", description = "Same as filter movies, returning only the requested fields",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "List of movies retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MovieSummaryResponse.class))))
+    @ApiResponse(responseCode = "400", description = "Invalid sort property or unknown field", content = @Content())
+    @GetMapping(value = "/search", params = {"!q", "fields"})
+    public ResponseEntity<List<MovieSummaryResponse>> filterFields(@ParameterObject MovieSearchRequest request,
+                                                                   @RequestParam String fields,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(required = false) Integer size,
+                                                                   @SortDefault("id") Sort sort){
+        Set<MovieField> movieFields = MovieMapper.toMovieFields(fields);
+        return ResponseEntity.ok(movieService.filter(movieFields, MovieMapper.toMovieFilter(request), page, movieService.pageSize(size), sort)
+                .stream()
+                .map(movie -> MovieMapper.toMovieSummaryResponse(movie, movieFields))
+                .toList());
+
+    }
+
+    @Operation(summary = "search movies by text", description = "Full-text search over title and description, ranked by relevance",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "List of movies retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MovieResponse.class))))
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<MovieResponse>> search(@RequestParam String q,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(required = false) Integer size){
+        return ResponseEntity.ok(movieService.search(q, page, movieService.pageSize(size))
+                .stream()
+                .map(MovieMapper::toMovieResponse)
+                .toList());
+
+    }
+
+    @Operation(summary = "search movies by text with selected fields", description = "Same as search movies by text, returning only the requested fields",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @ApiResponse(responseCode = "200", description = "List of movies retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = MovieSummaryResponse.class))))
+    @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content())
+    @GetMapping(value = "/search", params = {"q", "fields"})
+    public ResponseEntity<List<MovieSummaryResponse>> searchFields(@RequestParam String q,
+                                                                   @RequestParam String fields,
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(required = false) Integer size){
+        Set<MovieField> movieFields = MovieMapper.toMovieFields(fields);
+        return ResponseEntity.ok(movieService.search(movieFields, q, page, movieService.pageSize(size))
+                .stream()
+                .map(movie -> MovieMapper.toMovieSummaryResponse(movie, movieFields))
+                .toList());
+
+    }
+
     @Operation(summary = "delete movie by id", description = "Deletes a movie by its ID",
             security = @SecurityRequirement(name = "bearerAuth"))
     @ApiResponse(responseCode = "204", description = "Movie deleted successfully", content = @Content())
@@ -105,4 +283,63 @@ public class MovieController {
         return ResponseEntity.notFound().build();
     }
 
+    // each content coding is a different representation, so the pre-compressed body gets a strong validator of its own
+    private String toETag(Long id, LocalDateTime updatedAt, boolean gzip) {
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"" + id + "-" + Long.toHexString(micros) + (gzip ? "-gz" : "") + "\"";
+    }
+
+    // If-None-Match compares weakly, so W/ tags, which Tomcat sends when it compresses a response itself, match as well
+    private Optional<String> matchETag(String ifNoneMatch, Long id, LocalDateTime updatedAt) {
+        if (ifNoneMatch == null) {
+            return Optional.empty();
+        }
+        String identity = this.toETag(id, updatedAt, false);
+        String gzip = this.toETag(id, updatedAt, true);
+        for (String tag : ifNoneMatch.split(",")) {
+            String opaque = tag.trim().startsWith("W/") ? tag.trim().substring(2) : tag.trim();
+            if (opaque.equals("*") || opaque.equals(identity)) {
+                return Optional.of(identity);
+            }
+            if (opaque.equals(gzip)) {
+                return Optional.of(gzip);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private ResponseEntity<byte[]> toJsonResponse(Long id, MovieResponseBody body, String acceptEncoding) {
+        boolean gzip = body.gzip() != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(body.updatedAt() == null ? null : this.toETag(id, body.updatedAt(), gzip))
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private void writeLine(OutputStream outputStream, MovieResponse response) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(response));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
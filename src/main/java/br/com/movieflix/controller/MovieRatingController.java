@@ -0,0 +1,36 @@
+package br.com.movieflix.controller;
+
+import br.com.movieflix.config.JWTUserData;
+import br.com.movieflix.controller.request.MovieRatingRequest;
+import br.com.movieflix.controller.response.MovieRatingResponse;
+import br.com.movieflix.mapper.MovieRatingMapper;
+import br.com.movieflix.service.MovieRatingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/movieflix/movie/{id}/rating")
+@RequiredArgsConstructor
+public class MovieRatingController {
+
+    private final MovieRatingService movieRatingService;
+
+    @GetMapping
+    public ResponseEntity<MovieRatingResponse> findRating(@PathVariable Long id) {
+        return movieRatingService.findTotals(id)
+                .map(totals -> ResponseEntity.ok(MovieRatingMapper.toMovieRatingResponse(id, totals)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PutMapping
+    public ResponseEntity<MovieRatingResponse> rate(@PathVariable Long id,
+                                                    @Valid @RequestBody MovieRatingRequest request,
+                                                    @AuthenticationPrincipal JWTUserData user) {
+        return movieRatingService.rate(id, user.id(), request.score())
+                .map(totals -> ResponseEntity.ok(MovieRatingMapper.toMovieRatingResponse(id, totals)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.movieflix.controller;
+
+import br.com.movieflix.controller.response.MoviePageResponse;
+import br.com.movieflix.controller.response.MovieResponse;
+import br.com.movieflix.mapper.CursorMapper;
+import br.com.movieflix.mapper.MovieMapper;
+import br.com.movieflix.service.MovieReactiveService;
+import br.com.movieflix.service.MovieService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/movieflix/reactive/movie")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Movie", description = "Non-blocking read endpoints for the movie catalog")
+public class MovieReactiveController {
+
+    private final MovieReactiveService movieReactiveService;
+    private final MovieService movieService;
+
+    @Operation(summary = "list movies", description = "Lists movies by cursor, reading them through R2DBC",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping
+    public Mono<MoviePageResponse> findAll(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size){
+        int pageSize = movieService.pageSize(size);
+        return movieReactiveService.findPage(CursorMapper.toLastId(cursor), pageSize)
+                .collectList()
+                .map(movies -> MovieMapper.toMoviePageResponse(movies, pageSize));
+
+    }
+
+    @Operation(summary = "stream all movies", description = "Streams the whole catalog as NDJSON or server-sent events",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MovieResponse> streamAll(){
+        return movieReactiveService.streamAll()
+                .map(MovieMapper::toMovieResponse);
+
+    }
+
+    @Operation(summary = "get movie by id", description = "Retrieves a movie by its ID through R2DBC",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MovieResponse>> findById(@PathVariable Long id){
+        return movieReactiveService.findById(id)
+                .map(movie -> ResponseEntity.ok(MovieMapper.toMovieResponse(movie)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+
+    }
+
+    @Operation(summary = "list movies by category", description = "Lists the movies of a category by cursor, reading them through R2DBC",
+            security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/search")
+    public Mono<MoviePageResponse> findByCategory(@RequestParam Long category,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size){
+        int pageSize = movieService.pageSize(size);
+        return movieReactiveService.findByCategory(category, CursorMapper.toLastId(cursor), pageSize)
+                .collectList()
+                .map(movies -> MovieMapper.toMoviePageResponse(movies, pageSize));
+
+    }
+}
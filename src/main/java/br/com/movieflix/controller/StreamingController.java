@@ -11,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,13 +23,18 @@ public class StreamingController {
     private final StreamingService streamingService;
 
     @GetMapping
-    public ResponseEntity<List<StreamingResponse>> getAllStreaming() {
+    public ResponseEntity<List<StreamingResponse>> getAllStreaming(WebRequest webRequest) {
+        String eTag = "\"" + streamingService.version() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         List<StreamingResponse> streaming = streamingService.findAll()
                 .stream()
                 .map(StreamingMapper::toStreamingResponse)
                 .toList();
 
-        return ResponseEntity.ok(streaming);
+        return ResponseEntity.ok().eTag(eTag).body(streaming);
     }
 
     @PostMapping
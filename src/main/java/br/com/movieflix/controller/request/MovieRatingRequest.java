@@ -0,0 +1,12 @@
+package br.com.movieflix.controller.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record MovieRatingRequest(@Schema(type = "integer", description = "Score from 1 to 10", example = "8")
+                                 @NotNull(message = "Score is required.")
+                                 @Min(value = 1, message = "Score must be between 1 and 10.")
+                                 @Max(value = 10, message = "Score must be between 1 and 10.") Integer score) {
+}
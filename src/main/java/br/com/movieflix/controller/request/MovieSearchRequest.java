@@ -0,0 +1,23 @@
+package br.com.movieflix.controller.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MovieSearchRequest(@Schema(description = "Category IDs to filter by", example = "[1, 2]")
+                                 List<Long> category,
+                                 @Schema(description = "Whether a movie must match any or all of the categories", allowableValues = {"any", "all"}, defaultValue = "any")
+                                 String categoryMatch,
+                                 @Schema(description = "Streaming service IDs, a movie must be available on at least one", example = "[1]")
+                                 List<Long> streaming,
+                                 @Schema(description = "Minimum rating", example = "7.5")
+                                 Double minRating,
+                                 @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                 @Schema(type = "string", description = "Earliest release date", example = "01/01/2000")
+                                 LocalDate releasedFrom,
+                                 @DateTimeFormat(pattern = "dd/MM/yyyy")
+                                 @Schema(type = "string", description = "Latest release date", example = "31/12/2010")
+                                 LocalDate releasedTo) {
+}
@@ -0,0 +1,7 @@
+package br.com.movieflix.controller.response;
+
+import lombok.Builder;
+
+@Builder
+public record BulkImportErrorResponse(long row, String message) {
+}
@@ -0,0 +1,9 @@
+package br.com.movieflix.controller.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BulkImportResponse(long imported, long failed, List<BulkImportErrorResponse> errors) {
+}
@@ -0,0 +1,16 @@
+package br.com.movieflix.controller.response;
+
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeOperation;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record ChangeEventResponse(Long position,
+                                  ChangeAggregate aggregateType,
+                                  Long aggregateId,
+                                  Long aggregateVersion,
+                                  ChangeOperation operation,
+                                  LocalDateTime createdAt) {
+}
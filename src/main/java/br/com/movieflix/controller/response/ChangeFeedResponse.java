@@ -0,0 +1,9 @@
+package br.com.movieflix.controller.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ChangeFeedResponse(List<ChangeEventResponse> changes, long next) {
+}
@@ -0,0 +1,18 @@
+package br.com.movieflix.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record MovieExportResponse(Long id,
+                                  String title,
+                                  String description,
+                                  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
+                                  LocalDate releaseDate,
+                                  double rating,
+                                  List<Long> categories,
+                                  List<Long> streamings) {
+}
@@ -0,0 +1,7 @@
+package br.com.movieflix.controller.response;
+
+import lombok.Builder;
+
+@Builder
+public record MovieRatingResponse(Long movieId, Double average, long count) {
+}
@@ -0,0 +1,9 @@
+package br.com.movieflix.controller.response;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record MovieSummaryPageResponse(List<MovieSummaryResponse> content, String next) {
+}
@@ -0,0 +1,20 @@
+package br.com.movieflix.controller.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MovieSummaryResponse(Long id,
+                                   String title,
+                                   String description,
+                                   @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd/MM/yyyy")
+                                   LocalDate releaseDate,
+                                   Double rating,
+                                   List<CategoryResponse> categories,
+                                   List<StreamingResponse> streamings) {
+}
@@ -0,0 +1,7 @@
+package br.com.movieflix.entity;
+
+public enum ChangeOperation {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,9 @@
+package br.com.movieflix.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package br.com.movieflix.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+
+}
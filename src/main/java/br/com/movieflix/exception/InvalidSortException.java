@@ -0,0 +1,9 @@
+package br.com.movieflix.exception;
+
+public class InvalidSortException extends RuntimeException {
+
+    public InvalidSortException(String message) {
+        super(message);
+    }
+
+}
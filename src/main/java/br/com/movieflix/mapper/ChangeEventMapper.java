@@ -0,0 +1,33 @@
+package br.com.movieflix.mapper;
+
+import br.com.movieflix.controller.response.ChangeEventResponse;
+import br.com.movieflix.controller.response.ChangeFeedResponse;
+import br.com.movieflix.entity.ChangeEvent;
+import lombok.experimental.UtilityClass;
+
+import java.util.List;
+
+@UtilityClass
+public class ChangeEventMapper {
+
+    public static ChangeEventResponse toChangeEventResponse(ChangeEvent changeEvent) {
+        return ChangeEventResponse
+                .builder()
+                .position(changeEvent.getPosition())
+                .aggregateType(changeEvent.getAggregateType())
+                .aggregateId(changeEvent.getAggregateId())
+                .aggregateVersion(changeEvent.getAggregateVersion())
+                .operation(changeEvent.getOperation())
+                .createdAt(changeEvent.getCreatedAt())
+                .build();
+    }
+
+    public static ChangeFeedResponse toChangeFeedResponse(List<ChangeEvent> changeEvents, long since) {
+        long next = changeEvents.isEmpty() ? since : changeEvents.get(changeEvents.size() - 1).getPosition();
+        return ChangeFeedResponse
+                .builder()
+                .changes(changeEvents.stream().map(ChangeEventMapper::toChangeEventResponse).toList())
+                .next(next)
+                .build();
+    }
+}
@@ -1,26 +1,40 @@
 package br.com.movieflix.mapper;
 
 import br.com.movieflix.controller.request.MovieRequest;
+import br.com.movieflix.controller.request.MovieSearchRequest;
 import br.com.movieflix.controller.response.CategoryResponse;
+import br.com.movieflix.controller.response.MovieExportResponse;
+import br.com.movieflix.controller.response.MoviePageResponse;
 import br.com.movieflix.controller.response.MovieResponse;
+import br.com.movieflix.controller.response.MovieSummaryPageResponse;
+import br.com.movieflix.controller.response.MovieSummaryResponse;
 import br.com.movieflix.controller.response.StreamingResponse;
 import br.com.movieflix.entity.Category;
 import br.com.movieflix.entity.Movie;
 import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.exception.InvalidFieldsException;
+import br.com.movieflix.exception.InvalidSortException;
+import br.com.movieflix.repository.MovieExportRow;
+import br.com.movieflix.repository.MovieField;
+import br.com.movieflix.repository.MovieFilter;
+import br.com.movieflix.repository.MovieRanking;
 import lombok.experimental.UtilityClass;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @UtilityClass
 public class MovieMapper {
 
     public static Movie toMovie(MovieRequest request){
 
-        List<Category> categories = request.categories().stream()
+        List<Category> categories = Optional.ofNullable(request.categories()).orElse(List.of()).stream()
                 .map(categoryId -> Category.builder().id(categoryId).build())
                 .toList();
 
-        List<Streaming> streamings = request.streamings().stream()
+        List<Streaming> streamings = Optional.ofNullable(request.streamings()).orElse(List.of()).stream()
                 .map(streamingId -> Streaming.builder().id(streamingId).build())
                 .toList();
 
@@ -58,4 +72,92 @@ public class MovieMapper {
                 .build();
     }
 
+    public static MoviePageResponse toMoviePageResponse(List<Movie> movies, int pageSize){
+
+        boolean hasNext = movies.size() > pageSize;
+        List<Movie> content = hasNext ? movies.subList(0, pageSize) : movies;
+
+        return MoviePageResponse.builder()
+                .content(content.stream()
+                        .map(MovieMapper::toMovieResponse)
+                        .toList())
+                .next(hasNext ? CursorMapper.toCursor(content.get(content.size() - 1).getId()) : null)
+                .build();
+    }
+
+    public static Set<MovieField> toMovieFields(String fields){
+
+        Set<MovieField> movieFields = EnumSet.of(MovieField.ID);
+        for (String fieldName : fields.split(",")) {
+            String name = fieldName.trim();
+            if (name.equals("summary")) {
+                movieFields.addAll(MovieField.SUMMARY);
+            } else if (!name.isEmpty()) {
+                movieFields.add(MovieField.fromFieldName(name)
+                        .orElseThrow(() -> new InvalidFieldsException("Unknown movie field " + name)));
+            }
+        }
+        return movieFields;
+    }
+
+    public static MovieRanking toMovieRanking(String by){
+        return MovieRanking.fromRankingName(by)
+                .orElseThrow(() -> new InvalidSortException("Cannot rank movies by " + by));
+    }
+
+    public static MovieSummaryResponse toMovieSummaryResponse(Movie movie, Set<MovieField> fields){
+
+        return MovieSummaryResponse.builder()
+                .id(movie.getId())
+                .title(movie.getTitle())
+                .description(movie.getDescription())
+                .releaseDate(movie.getReleaseDate())
+                .rating(fields.contains(MovieField.RATING) ? movie.getRating() : null)
+                .categories(fields.contains(MovieField.CATEGORIES) ? movie.getCategories()
+                        .stream()
+                        .map(CategoryMapper::toCategoryResponse)
+                        .toList() : null)
+                .streamings(fields.contains(MovieField.STREAMINGS) ? movie.getStreaming()
+                        .stream()
+                        .map(StreamingMapper::toStreamingResponse)
+                        .toList() : null)
+                .build();
+    }
+
+    public static MovieSummaryPageResponse toMovieSummaryPageResponse(List<Movie> movies, int pageSize, Set<MovieField> fields){
+
+        boolean hasNext = movies.size() > pageSize;
+        List<Movie> content = hasNext ? movies.subList(0, pageSize) : movies;
+
+        return MovieSummaryPageResponse.builder()
+                .content(content.stream()
+                        .map(movie -> toMovieSummaryResponse(movie, fields))
+                        .toList())
+                .next(hasNext ? CursorMapper.toCursor(content.get(content.size() - 1).getId()) : null)
+                .build();
+    }
+
+    public static MovieFilter toMovieFilter(MovieSearchRequest request){
+        return MovieFilter.builder()
+                .categories(request.category())
+                .allCategories("all".equalsIgnoreCase(request.categoryMatch()))
+                .streamings(request.streaming())
+                .minRating(request.minRating())
+                .releasedFrom(request.releasedFrom())
+                .releasedTo(request.releasedTo())
+                .build();
+    }
+
+    public static MovieExportResponse toMovieExportResponse(MovieExportRow row){
+        return MovieExportResponse.builder()
+                .id(row.id())
+                .title(row.title())
+                .description(row.description())
+                .releaseDate(row.releaseDate())
+                .rating(row.rating())
+                .categories(row.categories())
+                .streamings(row.streamings())
+                .build();
+    }
+
 }
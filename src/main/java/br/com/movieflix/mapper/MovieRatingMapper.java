@@ -0,0 +1,18 @@
+package br.com.movieflix.mapper;
+
+import br.com.movieflix.controller.response.MovieRatingResponse;
+import br.com.movieflix.repository.MovieRatingTotals;
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class MovieRatingMapper {
+
+    public static MovieRatingResponse toMovieRatingResponse(Long movieId, MovieRatingTotals totals) {
+        return MovieRatingResponse
+                .builder()
+                .movieId(movieId)
+                .average(totals.average())
+                .count(totals.count())
+                .build();
+    }
+}
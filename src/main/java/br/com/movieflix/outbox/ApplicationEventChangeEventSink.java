@@ -0,0 +1,22 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.entity.ChangeEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "movieflix.outbox.sink", havingValue = "event", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ApplicationEventChangeEventSink implements ChangeEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        publisher.publishEvent(new ChangeEventsPublished(List.copyOf(events)));
+    }
+}
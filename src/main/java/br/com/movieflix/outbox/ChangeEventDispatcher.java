@@ -0,0 +1,72 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.entity.ChangeEvent;
+import br.com.movieflix.repository.ChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChangeEventDispatcher {
+
+    private static final long DISPATCH_LOCK_KEY = 0x6d6f766965L;
+
+    private final ChangeEventRepository repository;
+    private final ChangeEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${movieflix.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${movieflix.outbox.dispatcher.enabled}")
+    private boolean enabled;
+
+    @Scheduled(fixedDelayString = "${movieflix.outbox.poll-interval}", initialDelayString = "${movieflix.outbox.poll-interval}")
+    public void dispatchPending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int dispatched;
+            do {
+                dispatched = this.dispatch();
+            } while (dispatched == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Change event dispatch failed, retrying on the next poll", e);
+        }
+    }
+
+    // positions are handed out under a lock in id order, so the feed and the sink see one total delivery order;
+    // ids do not follow commit order, so the order of changes to one aggregate is its aggregateVersion;
+    // a sink failure rolls the positions back and the batch is delivered again
+    public int dispatch() {
+        Integer dispatched = transactionTemplate.execute(status -> {
+            if (!repository.tryDispatchLock(DISPATCH_LOCK_KEY)) {
+                return 0;
+            }
+            List<ChangeEvent> pending = repository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            long position = repository.findLastPosition();
+            LocalDateTime publishedAt = LocalDateTime.now();
+            for (ChangeEvent event : pending) {
+                event.setPosition(++position);
+                event.setPublishedAt(publishedAt);
+            }
+            repository.flush();
+            sink.publish(pending);
+            return pending.size();
+        });
+        return dispatched == null ? 0 : dispatched;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.entity.ChangeEvent;
+
+import java.util.List;
+
+public interface ChangeEventSink {
+
+    void publish(List<ChangeEvent> events);
+}
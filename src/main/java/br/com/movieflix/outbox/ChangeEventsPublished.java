@@ -0,0 +1,8 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.entity.ChangeEvent;
+
+import java.util.List;
+
+public record ChangeEventsPublished(List<ChangeEvent> events) {
+}
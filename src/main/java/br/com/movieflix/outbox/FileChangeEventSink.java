@@ -0,0 +1,40 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.entity.ChangeEvent;
+import br.com.movieflix.mapper.ChangeEventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "movieflix.outbox.sink", havingValue = "file")
+@RequiredArgsConstructor
+public class FileChangeEventSink implements ChangeEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${movieflix.outbox.file}")
+    private Path file;
+
+    @Override
+    public void publish(List<ChangeEvent> events) {
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (ChangeEvent event : events) {
+                out.write(objectMapper.writeValueAsBytes(ChangeEventMapper.toChangeEventResponse(event)));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
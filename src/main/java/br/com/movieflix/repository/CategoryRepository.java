@@ -2,8 +2,14 @@ package br.com.movieflix.repository;
 
 import br.com.movieflix.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    @Query("select c.id from Category c order by c.id")
+    List<Long> findAllIds();
 }
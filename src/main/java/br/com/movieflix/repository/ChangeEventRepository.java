@@ -0,0 +1,33 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryDispatchLock(@Param("key") long key);
+
+    // held until commit, so the next change to the same aggregate reads this one's version
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:aggregateType), hashtext(CAST(:aggregateId AS text)))) aggregate_lock",
+            nativeQuery = true)
+    int lockAggregate(@Param("aggregateType") String aggregateType, @Param("aggregateId") long aggregateId);
+
+    @Query("select coalesce(max(e.aggregateVersion), 0) from ChangeEvent e where e.aggregateType = :aggregateType and e.aggregateId = :aggregateId")
+    long findLastVersion(@Param("aggregateType") ChangeAggregate aggregateType, @Param("aggregateId") Long aggregateId);
+
+    List<ChangeEvent> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    @Query("select coalesce(max(e.position), 0) from ChangeEvent e")
+    long findLastPosition();
+
+    List<ChangeEvent> findByPositionGreaterThanOrderByPositionAsc(long position, Limit limit);
+}
@@ -0,0 +1,219 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class MovieBulkRepository {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String EXPORT_QUERY = """
+            SELECT m.id, m.title, m.description, m.release_date, m.rating,
+                   ARRAY(SELECT mc.category_id::bigint FROM movie_category mc
+                         WHERE mc.movie_id = m.id ORDER BY mc.category_id) AS categories,
+                   ARRAY(SELECT ms.streaming_id::bigint FROM movie_streaming ms
+                         WHERE ms.movie_id = m.id ORDER BY ms.streaming_id) AS streamings
+            FROM movie m
+            ORDER BY m.id
+            """;
+
+    private static final String CATEGORY_INDEX_QUERY = """
+            SELECT category_id, movie_id FROM movie_category
+            ORDER BY category_id, movie_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryInvocationTimer invocationTimer;
+
+    public void insertAll(List<Movie> movies) {
+        this.timed("insertAll", () -> this.insertMovies(movies));
+    }
+
+    public void exportAll(Consumer<MovieExportRow> consumer) {
+        this.timed("exportAll", () -> this.queryExportRows(consumer));
+    }
+
+    // a new read-write transaction, so the index is built from rows committed on the primary and never a lagging replica
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<Long, long[]> findMovieIdsByCategory() {
+        Map<Long, long[]> movieIdsByCategory = new HashMap<>();
+        this.timed("findMovieIdsByCategory", () -> this.queryMovieIdsByCategory(movieIdsByCategory));
+        return movieIdsByCategory;
+    }
+
+    // the SQL a ranking index list is loaded from, and the answer it has to match
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<RankedMovie> findTopRanked(MovieRanking ranking, Long categoryId, int limit) {
+        String column = "m." + ranking.getColumn();
+        String sql = "SELECT m.id, " + column + " FROM movie m WHERE " + column + " IS NOT NULL"
+                + (categoryId == null ? "" : " AND EXISTS (SELECT 1 FROM movie_category mc WHERE mc.movie_id = m.id AND mc.category_id = ?)")
+                + " ORDER BY " + column + " DESC, m.id LIMIT ?";
+        Object[] args = categoryId == null ? new Object[]{limit} : new Object[]{categoryId, limit};
+        return invocationTimer.record("MovieBulkRepository", "findTopRanked", () -> jdbcTemplate.query(sql,
+                (rs, rowNum) -> new RankedMovie(rs.getLong(1), ranking == MovieRanking.RECENT
+                        ? rs.getDate(2).toLocalDate().toEpochDay()
+                        : rs.getDouble(2)),
+                args));
+    }
+
+    private void insertMovies(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return;
+        }
+        List<Long> ids = this.reserveIds(movies.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<long[]> categoryRows = new ArrayList<>();
+        List<long[]> streamingRows = new ArrayList<>();
+
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            movie.setId(ids.get(i));
+            movie.setCreatedAt(now);
+            movie.setUpdatedAt(now);
+            for (Category category : movie.getCategories()) {
+                categoryRows.add(new long[]{movie.getId(), category.getId()});
+            }
+            for (Streaming streaming : movie.getStreaming()) {
+                streamingRows.add(new long[]{movie.getId(), streaming.getId()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("""
+                        INSERT INTO movie (id, title, description, release_date, rating, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        """,
+                movies, movies.size(), (ps, movie) -> {
+                    ps.setLong(1, movie.getId());
+                    ps.setString(2, movie.getTitle());
+                    ps.setString(3, movie.getDescription());
+                    if (movie.getReleaseDate() == null) {
+                        ps.setNull(4, Types.DATE);
+                    } else {
+                        ps.setDate(4, Date.valueOf(movie.getReleaseDate()));
+                    }
+                    ps.setDouble(5, movie.getRating());
+                    ps.setTimestamp(6, Timestamp.valueOf(movie.getCreatedAt()));
+                    ps.setTimestamp(7, Timestamp.valueOf(movie.getUpdatedAt()));
+                });
+        this.insertJoinRows("INSERT INTO movie_category (movie_id, category_id) VALUES (?, ?)", categoryRows);
+        this.insertJoinRows("INSERT INTO movie_streaming (movie_id, streaming_id) VALUES (?, ?)", streamingRows);
+    }
+
+    private void queryExportRows(Consumer<MovieExportRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            Date releaseDate = rs.getDate("release_date");
+            consumer.accept(new MovieExportRow(
+                    rs.getLong("id"),
+                    rs.getString("title"),
+                    rs.getString("description"),
+                    releaseDate == null ? null : releaseDate.toLocalDate(),
+                    rs.getDouble("rating"),
+                    toIds(rs.getArray("categories")),
+                    toIds(rs.getArray("streamings"))));
+        });
+    }
+
+    private void queryMovieIdsByCategory(Map<Long, long[]> movieIdsByCategory) {
+        CategoryRowCollector collector = new CategoryRowCollector(movieIdsByCategory);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(CATEGORY_INDEX_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, collector);
+        collector.flush();
+    }
+
+    private static List<Long> toIds(Array array) throws SQLException {
+        return Arrays.asList((Long[]) array.getArray());
+    }
+
+    private void insertJoinRows(String sql, List<long[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+        });
+    }
+
+    private void timed(String method, Runnable invocation) {
+        invocationTimer.record("MovieBulkRepository", method, invocation);
+    }
+
+    // Each nextval reserves the block of ID_ALLOCATION_SIZE ids ending at the returned value,
+    // the same blocks Hibernate's pooled optimizer hands out for Movie. The first value of a
+    // fresh sequence is 1, so ids below 1 are skipped.
+    private List<Long> reserveIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + Movie.ID_ALLOCATION_SIZE - 1) / Movie.ID_ALLOCATION_SIZE;
+            List<Long> blockEnds = jdbcTemplate.queryForList(
+                    "SELECT nextval('movie_id_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            for (Long blockEnd : blockEnds) {
+                for (long id = Math.max(1, blockEnd - Movie.ID_ALLOCATION_SIZE + 1); id <= blockEnd && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    // rows arrive ordered by category, so each category's ids are collected into one sorted array
+    @RequiredArgsConstructor
+    private static class CategoryRowCollector implements RowCallbackHandler {
+
+        private final Map<Long, long[]> movieIdsByCategory;
+        private long categoryId;
+        private long[] movieIds = new long[EXPORT_FETCH_SIZE];
+        private int size;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowCategoryId = rs.getLong("category_id");
+            if (size > 0 && rowCategoryId != categoryId) {
+                this.flush();
+            }
+            categoryId = rowCategoryId;
+            if (size == movieIds.length) {
+                movieIds = Arrays.copyOf(movieIds, size * 2);
+            }
+            movieIds[size++] = rs.getLong("movie_id");
+        }
+
+        void flush() {
+            if (size > 0) {
+                movieIdsByCategory.put(categoryId, Arrays.copyOf(movieIds, size));
+                size = 0;
+            }
+        }
+    }
+}
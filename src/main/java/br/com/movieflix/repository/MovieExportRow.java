@@ -0,0 +1,13 @@
+package br.com.movieflix.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MovieExportRow(Long id,
+                             String title,
+                             String description,
+                             LocalDate releaseDate,
+                             double rating,
+                             List<Long> categories,
+                             List<Long> streamings) {
+}
@@ -0,0 +1,34 @@
+package br.com.movieflix.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public enum MovieField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    DESCRIPTION("description", "description"),
+    RELEASE_DATE("releaseDate", "releaseDate"),
+    RATING("rating", "rating"),
+    CATEGORIES("categories", null),
+    STREAMINGS("streamings", null);
+
+    public static final Set<MovieField> SUMMARY = Collections.unmodifiableSet(EnumSet.of(ID, TITLE, RELEASE_DATE, RATING));
+
+    private final String fieldName;
+    private final String attribute;
+
+    public static Optional<MovieField> fromFieldName(String fieldName) {
+        return Arrays.stream(values())
+                .filter(field -> field.fieldName.equals(fieldName))
+                .findFirst();
+    }
+}
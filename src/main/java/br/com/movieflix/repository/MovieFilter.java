@@ -0,0 +1,15 @@
+package br.com.movieflix.repository;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record MovieFilter(List<Long> categories,
+                          boolean allCategories,
+                          List<Long> streamings,
+                          Double minRating,
+                          LocalDate releasedFrom,
+                          LocalDate releasedTo) {
+}
@@ -0,0 +1,147 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Reads only the columns of the requested fields, and touches the join tables only when
+// categories or streamings are asked for. The movies it returns are detached and partially filled.
+@Repository
+@RequiredArgsConstructor
+public class MovieProjectionRepository {
+
+    private static final String SELECT_CATEGORIES = """
+            SELECT mc.movie_id, c.id, c.name
+            FROM movie_category mc
+            JOIN category c ON c.id = mc.category_id
+            WHERE mc.movie_id = ANY(?)
+            ORDER BY mc.movie_id, c.id
+            """;
+
+    private static final String SELECT_STREAMINGS = """
+            SELECT ms.movie_id, s.id, s.name
+            FROM movie_streaming ms
+            JOIN streaming s ON s.id = ms.streaming_id
+            WHERE ms.movie_id = ANY(?)
+            ORDER BY ms.movie_id, s.id
+            """;
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryInvocationTimer invocationTimer;
+
+    public List<Movie> findAll(Set<MovieField> fields, Specification<Movie> spec, Pageable pageable) {
+        return invocationTimer.record("MovieProjectionRepository", "findAll",
+                () -> this.withAssociations(fields, this.queryColumns(fields, spec, pageable)));
+    }
+
+    public List<Movie> findAllById(Set<MovieField> fields, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return invocationTimer.record("MovieProjectionRepository", "findAllById", () -> {
+            Map<Long, Movie> byId = this.queryColumns(fields, (root, query, cb) -> root.get("id").in(ids), Pageable.unpaged())
+                    .stream()
+                    .collect(Collectors.toMap(Movie::getId, Function.identity()));
+            List<Movie> movies = ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return this.withAssociations(fields, movies);
+        });
+    }
+
+    private List<Movie> queryColumns(Set<MovieField> fields, Specification<Movie> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Movie> root = query.from(Movie.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get(MovieField.ID.getAttribute()).alias(MovieField.ID.getAttribute()));
+        fields.stream()
+                .filter(field -> field != MovieField.ID && field.getAttribute() != null)
+                .forEach(field -> selections.add(root.get(field.getAttribute()).alias(field.getAttribute())));
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList()
+                .stream()
+                .map(tuple -> toMovie(tuple, fields))
+                .toList();
+    }
+
+    private List<Movie> withAssociations(Set<MovieField> fields, List<Movie> movies) {
+        if (movies.isEmpty()) {
+            return movies;
+        }
+        Long[] ids = movies.stream().map(Movie::getId).toArray(Long[]::new);
+        if (fields.contains(MovieField.CATEGORIES)) {
+            Map<Long, List<Category>> categories = this.queryAssociation(SELECT_CATEGORIES, ids, (rs, rowNum) -> Category.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .build());
+            movies.forEach(movie -> movie.setCategories(categories.getOrDefault(movie.getId(), List.of())));
+        }
+        if (fields.contains(MovieField.STREAMINGS)) {
+            Map<Long, List<Streaming>> streamings = this.queryAssociation(SELECT_STREAMINGS, ids, (rs, rowNum) -> Streaming.builder()
+                    .id(rs.getLong("id"))
+                    .name(rs.getString("name"))
+                    .build());
+            movies.forEach(movie -> movie.setStreaming(streamings.getOrDefault(movie.getId(), List.of())));
+        }
+        return movies;
+    }
+
+    private <T> Map<Long, List<T>> queryAssociation(String sql, Long[] ids, RowMapper<T> rowMapper) {
+        Map<Long, List<T>> byMovie = new HashMap<>();
+        jdbcTemplate.query(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids)), rs -> {
+            byMovie.computeIfAbsent(rs.getLong("movie_id"), movieId -> new ArrayList<>()).add(rowMapper.mapRow(rs, rs.getRow()));
+        });
+        return byMovie;
+    }
+
+    private static Movie toMovie(Tuple tuple, Set<MovieField> fields) {
+        return Movie.builder()
+                .id(tuple.get(MovieField.ID.getAttribute(), Long.class))
+                .title(fields.contains(MovieField.TITLE) ? tuple.get(MovieField.TITLE.getAttribute(), String.class) : null)
+                .description(fields.contains(MovieField.DESCRIPTION) ? tuple.get(MovieField.DESCRIPTION.getAttribute(), String.class) : null)
+                .releaseDate(fields.contains(MovieField.RELEASE_DATE) ? tuple.get(MovieField.RELEASE_DATE.getAttribute(), LocalDate.class) : null)
+                .rating(fields.contains(MovieField.RATING) ? tuple.get(MovieField.RATING.getAttribute(), Double.class) : 0)
+                .build();
+    }
+}
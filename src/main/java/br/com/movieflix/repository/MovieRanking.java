@@ -0,0 +1,37 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Movie;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum MovieRanking {
+
+    RATING("rating", "rating"),
+    RECENT("recent", "release_date");
+
+    private final String rankingName;
+    private final String column;
+
+    public static Optional<MovieRanking> fromRankingName(String rankingName) {
+        return Arrays.stream(values())
+                .filter(ranking -> ranking.rankingName.equalsIgnoreCase(rankingName))
+                .findFirst();
+    }
+
+    // release dates rank by epoch day; a movie without one is left out of the recent ranking
+    public static Map<MovieRanking, Double> scores(Movie movie) {
+        Map<MovieRanking, Double> scores = new EnumMap<>(MovieRanking.class);
+        scores.put(RATING, movie.getRating());
+        if (movie.getReleaseDate() != null) {
+            scores.put(RECENT, (double) movie.getReleaseDate().toEpochDay());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.movieflix.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class MovieRatingRepository {
+
+    // previous_score is set from the row the upsert replaced, so the caller learns the old score without a separate read
+    private static final String UPSERT_RATING = """
+            INSERT INTO movie_rating (movie_id, user_id, score, previous_score, rated_at)
+            VALUES (?, ?, ?, NULL, now())
+            ON CONFLICT (movie_id, user_id) DO UPDATE
+            SET previous_score = movie_rating.score, score = EXCLUDED.score, rated_at = EXCLUDED.rated_at
+            RETURNING previous_score
+            """;
+
+    private static final String ADD_TOTALS = """
+            INSERT INTO movie_rating_summary (movie_id, rating_count, rating_sum)
+            SELECT m.id, ?, ? FROM movie m WHERE m.id = ?
+            ON CONFLICT (movie_id) DO UPDATE
+            SET rating_count = movie_rating_summary.rating_count + EXCLUDED.rating_count,
+                rating_sum = movie_rating_summary.rating_sum + EXCLUDED.rating_sum
+            """;
+
+    private static final String REBUILD_TOTALS = """
+            INSERT INTO movie_rating_summary (movie_id, rating_count, rating_sum)
+            SELECT movie_id, count(*), sum(score) FROM movie_rating GROUP BY movie_id
+            ON CONFLICT (movie_id) DO UPDATE
+            SET rating_count = EXCLUDED.rating_count, rating_sum = EXCLUDED.rating_sum
+            """;
+
+    // recounts the movies rated in [from, to) that nobody rated since, so no instance can still hold a delta for them;
+    // a rating that commits after the statement starts is not counted and its delta is added by the next flush
+    private static final String RECONCILE_TOTALS = """
+            WITH touched AS (
+                SELECT DISTINCT movie_id FROM movie_rating WHERE rated_at >= ? AND rated_at < ?
+            )
+            INSERT INTO movie_rating_summary (movie_id, rating_count, rating_sum)
+            SELECT r.movie_id, count(*), sum(r.score)
+            FROM movie_rating r
+            JOIN touched t ON t.movie_id = r.movie_id
+            WHERE NOT EXISTS (SELECT 1 FROM movie_rating n WHERE n.movie_id = r.movie_id AND n.rated_at >= ?)
+            GROUP BY r.movie_id
+            ON CONFLICT (movie_id) DO UPDATE
+            SET rating_count = EXCLUDED.rating_count, rating_sum = EXCLUDED.rating_sum
+            WHERE (movie_rating_summary.rating_count, movie_rating_summary.rating_sum)
+                IS DISTINCT FROM (EXCLUDED.rating_count, EXCLUDED.rating_sum)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepositoryInvocationTimer invocationTimer;
+
+    // the change this rating makes to the movie's totals: a first rating adds one to the count
+    public MovieRatingTotals upsert(long movieId, long userId, int score) {
+        return invocationTimer.record("MovieRatingRepository", "upsert", () -> {
+            Integer previousScore = jdbcTemplate.query(UPSERT_RATING,
+                    rs -> rs.next() ? (Integer) rs.getObject("previous_score", Integer.class) : null,
+                    movieId, userId, score);
+            return previousScore == null
+                    ? new MovieRatingTotals(1, score)
+                    : new MovieRatingTotals(0, score - previousScore);
+        });
+    }
+
+    // returns the ids of movies that no longer exist, whose totals were dropped
+    public List<Long> addAll(Map<Long, MovieRatingTotals> totalsByMovie) {
+        if (totalsByMovie.isEmpty()) {
+            return List.of();
+        }
+        return invocationTimer.record("MovieRatingRepository", "addAll", () -> {
+            // a fixed lock order, so concurrent flushes cannot deadlock on the summary rows
+            List<Long> movieIds = totalsByMovie.keySet().stream().sorted().toList();
+            int[][] updated = jdbcTemplate.batchUpdate(ADD_TOTALS, movieIds, movieIds.size(), (ps, movieId) -> {
+                MovieRatingTotals totals = totalsByMovie.get(movieId);
+                ps.setLong(1, totals.count());
+                ps.setLong(2, totals.sum());
+                ps.setLong(3, movieId);
+            });
+            List<Long> missing = new ArrayList<>();
+            for (int i = 0; i < movieIds.size(); i++) {
+                if (updated[0][i] == 0) {
+                    missing.add(movieIds.get(i));
+                }
+            }
+            return missing;
+        });
+    }
+
+    public Optional<MovieRatingTotals> findTotals(long movieId) {
+        return invocationTimer.record("MovieRatingRepository", "findTotals", () -> jdbcTemplate.query(
+                "SELECT rating_count, rating_sum FROM movie_rating_summary WHERE movie_id = ?",
+                rs -> rs.next() ? Optional.of(new MovieRatingTotals(rs.getLong("rating_count"), rs.getLong("rating_sum"))) : Optional.<MovieRatingTotals>empty(),
+                movieId));
+    }
+
+    // the database clock, which is the one rated_at is written with
+    public LocalDateTime findSettledUpTo(Duration settle) {
+        return jdbcTemplate.queryForObject("SELECT localtimestamp - make_interval(secs => ?)", LocalDateTime.class, (double) settle.toSeconds());
+    }
+
+    // returns how many movies had totals that differed from their ratings
+    public int reconcileTotals(LocalDateTime from, LocalDateTime to) {
+        return invocationTimer.record("MovieRatingRepository", "reconcileTotals", () -> jdbcTemplate.update(RECONCILE_TOTALS,
+                Timestamp.valueOf(from), Timestamp.valueOf(to), Timestamp.valueOf(to)));
+    }
+
+    public int rebuildTotals() {
+        return invocationTimer.record("MovieRatingRepository", "rebuildTotals", () -> jdbcTemplate.update(REBUILD_TOTALS));
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.movieflix.repository;
+
+public record MovieRatingTotals(long count, long sum) {
+
+    public static final MovieRatingTotals EMPTY = new MovieRatingTotals(0, 0);
+
+    public MovieRatingTotals plus(MovieRatingTotals other) {
+        return new MovieRatingTotals(count + other.count, sum + other.sum);
+    }
+
+    public boolean isEmpty() {
+        return count == 0 && sum == 0;
+    }
+
+    public Double average() {
+        return count > 0 ? (double) sum / count : null;
+    }
+}
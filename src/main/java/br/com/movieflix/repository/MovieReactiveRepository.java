@@ -0,0 +1,133 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+// The pool is kept out of the bean graph on purpose: a ConnectionFactory bean would make
+// Spring Boot back off from the JDBC DataSource that JPA and Flyway run on.
+@Repository
+public class MovieReactiveRepository {
+
+    // associations come back as arrays from the same statement, so a stream holds one pooled
+    // connection for its whole life and never waits on the pool for a second one
+    private static final String SELECT_MOVIES = """
+            SELECT m.id::int8 AS id, m.title, m.description, m.release_date, m.rating::float8 AS rating,
+                   cat.ids AS category_ids, cat.names AS category_names,
+                   str.ids AS streaming_ids, str.names AS streaming_names
+            FROM movie m
+            LEFT JOIN LATERAL (SELECT array_agg(c.id::int8 ORDER BY c.id) AS ids, array_agg(c.name::text ORDER BY c.id) AS names
+                               FROM movie_category mc JOIN category c ON c.id = mc.category_id
+                               WHERE mc.movie_id = m.id) cat ON true
+            LEFT JOIN LATERAL (SELECT array_agg(s.id::int8 ORDER BY s.id) AS ids, array_agg(s.name::text ORDER BY s.id) AS names
+                               FROM movie_streaming ms JOIN streaming s ON s.id = ms.streaming_id
+                               WHERE ms.movie_id = m.id) str ON true
+            """;
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public MovieReactiveRepository(@Value("${spring.datasource.url}") String jdbcUrl,
+                                   @Value("${spring.datasource.username}") String username,
+                                   @Value("${spring.datasource.password}") String password,
+                                   @Value("${movieflix.reactive.pool-size}") int poolSize,
+                                   @Value("${movieflix.reactive.acquire-timeout}") Duration acquireTimeout) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(toR2dbcUrl(jdbcUrl))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Mono<Movie> findById(Long id) {
+        return databaseClient.sql(SELECT_MOVIES + " WHERE m.id = :id")
+                .bind("id", id)
+                .map(MovieReactiveRepository::toMovie)
+                .one();
+    }
+
+    public Flux<Movie> findPage(long afterId, int limit) {
+        return databaseClient.sql(SELECT_MOVIES + " WHERE m.id > :afterId ORDER BY m.id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(MovieReactiveRepository::toMovie)
+                .all();
+    }
+
+    public Flux<Movie> findByCategory(Long categoryId, long afterId, int limit) {
+        return databaseClient.sql(SELECT_MOVIES + """
+                         WHERE EXISTS (SELECT 1 FROM movie_category mc WHERE mc.movie_id = m.id AND mc.category_id = :categoryId)
+                         AND m.id > :afterId
+                        ORDER BY m.id
+                        LIMIT :limit
+                        """)
+                .bind("categoryId", categoryId)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(MovieReactiveRepository::toMovie)
+                .all();
+    }
+
+    public Flux<Movie> findAll() {
+        return databaseClient.sql(SELECT_MOVIES + " ORDER BY m.id")
+                .map(MovieReactiveRepository::toMovie)
+                .all();
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.dispose();
+    }
+
+    private static Movie toMovie(Readable row) {
+        Double rating = row.get("rating", Double.class);
+        return Movie.builder()
+                .id(row.get("id", Long.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .releaseDate(row.get("release_date", LocalDate.class))
+                .rating(rating == null ? 0 : rating)
+                .categories(toList(row.get("category_ids", Long[].class), row.get("category_names", String[].class),
+                        (id, name) -> Category.builder().id(id).name(name).build()))
+                .streaming(toList(row.get("streaming_ids", Long[].class), row.get("streaming_names", String[].class),
+                        (id, name) -> Streaming.builder().id(id).name(name).build()))
+                .build();
+    }
+
+    // array_agg gives null rather than an empty array for a movie without associations
+    private static <T> List<T> toList(Long[] ids, String[] names, BiFunction<Long, String, T> factory) {
+        List<T> values = new ArrayList<>(ids == null ? 0 : ids.length);
+        for (int i = 0; ids != null && i < ids.length; i++) {
+            values.add(factory.apply(ids[i], names[i]));
+        }
+        return values;
+    }
+
+    private static String toR2dbcUrl(String jdbcUrl) {
+        String url = jdbcUrl.replaceFirst("^jdbc:", "r2dbc:");
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+}
@@ -1,14 +1,56 @@
 package br.com.movieflix.repository;
 
-import br.com.movieflix.entity.Category;
 import br.com.movieflix.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, Long> {
+public interface MovieRepository extends JpaRepository<Movie, Long>, JpaSpecificationExecutor<Movie> {
 
-    List<Movie> findMovieByCategories(List<Category> categories);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select m.updatedAt from Movie m where m.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Movie> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    <S extends Movie, R> R findBy(Specification<Movie> spec, Function<? super SpecificationFluentQuery<S>, R> queryFunction);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from Movie m order by m.id")
+    Stream<Movie> streamAllOrderById();
+
+    @Query(value = """
+            SELECT m.id, m.title, m.description, m.release_date, m.rating, m.created_at, m.updated_at
+            FROM movie m, websearch_to_tsquery('english', :query) q
+            WHERE m.search_vector @@ q
+            ORDER BY ts_rank(m.search_vector, q) DESC, m.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Movie> searchByText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query(value = """
+            SELECT m.id
+            FROM movie m, websearch_to_tsquery('english', :query) q
+            WHERE m.search_vector @@ q
+            ORDER BY ts_rank(m.search_vector, q) DESC, m.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Long> searchIdsByText(@Param("query") String query, @Param("limit") int limit, @Param("offset") long offset);
 }
@@ -0,0 +1,53 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Movie;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.experimental.UtilityClass;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@UtilityClass
+public class MovieSpecifications {
+
+    public static Specification<Movie> matching(MovieFilter filter) {
+        List<Specification<Movie>> specifications = new ArrayList<>();
+
+        if (filter.categories() != null && !filter.categories().isEmpty()) {
+            if (filter.allCategories()) {
+                filter.categories().stream()
+                        .distinct()
+                        .forEach(categoryId -> specifications.add(hasAnyRelated("categories", List.of(categoryId))));
+            } else {
+                specifications.add(hasAnyRelated("categories", filter.categories()));
+            }
+        }
+        if (filter.streamings() != null && !filter.streamings().isEmpty()) {
+            specifications.add(hasAnyRelated("streaming", filter.streamings()));
+        }
+        if (filter.minRating() != null) {
+            specifications.add((root, query, cb) -> cb.ge(root.get("rating"), filter.minRating()));
+        }
+        if (filter.releasedFrom() != null) {
+            specifications.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("releaseDate"), filter.releasedFrom()));
+        }
+        if (filter.releasedTo() != null) {
+            specifications.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("releaseDate"), filter.releasedTo()));
+        }
+
+        return Specification.allOf(specifications);
+    }
+
+    private static Specification<Movie> hasAnyRelated(String association, Collection<Long> ids) {
+        return (root, query, cb) -> {
+            Subquery<Integer> subquery = query.subquery(Integer.class);
+            Root<Movie> movie = subquery.correlate(root);
+            Join<Movie, ?> related = movie.join(association);
+            return cb.exists(subquery.select(cb.literal(1)).where(related.get("id").in(ids)));
+        };
+    }
+}
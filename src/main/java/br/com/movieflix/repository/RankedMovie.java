@@ -0,0 +1,11 @@
+package br.com.movieflix.repository;
+
+import java.util.Comparator;
+
+public record RankedMovie(long movieId, double score) {
+
+    // the same order as ORDER BY <score> DESC, id
+    public static final Comparator<RankedMovie> ORDER = Comparator.comparingDouble(RankedMovie::score)
+            .reversed()
+            .thenComparingLong(RankedMovie::movieId);
+}
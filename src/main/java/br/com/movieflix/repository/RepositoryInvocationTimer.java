@@ -0,0 +1,40 @@
+package br.com.movieflix.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+// recorded under the same meter and tags Spring Data uses for the JPA repositories
+@Component
+@RequiredArgsConstructor
+public class RepositoryInvocationTimer {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String repository, String method, Runnable invocation) {
+        this.record(repository, method, () -> {
+            invocation.run();
+            return null;
+        });
+    }
+
+    public <T> T record(String repository, String method, Supplier<T> invocation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "None";
+        try {
+            return invocation.get();
+        } catch (RuntimeException e) {
+            state = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("spring.data.repository.invocations")
+                    .tags("repository", repository, "method", method, "state", state, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
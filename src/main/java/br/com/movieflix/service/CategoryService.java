@@ -1,9 +1,16 @@
 package br.com.movieflix.service;
 
+import br.com.movieflix.cache.MovieCategoryIndex;
+import br.com.movieflix.cache.MovieRankingIndex;
+import br.com.movieflix.cache.ReferenceDataCache;
 import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeOperation;
 import br.com.movieflix.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,22 +20,55 @@ import java.util.Optional;
 public class CategoryService {
 
     private final CategoryRepository repository;
+    private final ReferenceDataCache<Category> cache;
+    private final MovieCategoryIndex movieCategoryIndex;
+    private final MovieRankingIndex movieRankingIndex;
+    private final ChangeEventService changeEventService;
 
     public List<Category> findAll() {
-        return repository.findAll();
+        return cache.findAll();
 
     }
 
+    // read from the table, so a caller that only needs the ids does not fill the snapshot before it is due
+    public List<Long> findAllIds() {
+        return repository.findAllIds();
+    }
+
+    @Transactional
     public Category saveCategory(Category category){
-        return repository.save(category);
+        Category savedCategory = repository.save(category);
+        changeEventService.record(ChangeAggregate.CATEGORY, savedCategory.getId(), ChangeOperation.CREATED);
+        TransactionCallbacks.afterCommit(() -> cache.put(savedCategory));
+        return savedCategory;
     }
 
     public Optional<Category> findById(Long id){
-        return repository.findById(id);
+        return cache.findById(id);
+    }
+
+    @Scheduled(fixedDelayString = "${movieflix.reference-data.refresh-interval}", initialDelayString = "${movieflix.reference-data.refresh-interval}")
+    public void refreshCache(){
+        cache.refresh();
+    }
+
+    public String version(){
+        return cache.version();
+    }
+
+    public List<Category> findAllById(List<Long> ids){
+        return cache.findAllById(ids);
     }
 
+    @Transactional
     public void deleteCategory(Long id){
         repository.deleteById(id);
+        changeEventService.record(ChangeAggregate.CATEGORY, id, ChangeOperation.DELETED);
+        TransactionCallbacks.afterCommit(() -> {
+            cache.remove(id);
+            movieCategoryIndex.removeCategory(id);
+            movieRankingIndex.removeCategory(id);
+        });
     }
 
 }
@@ -0,0 +1,72 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeEvent;
+import br.com.movieflix.entity.ChangeOperation;
+import br.com.movieflix.repository.ChangeEventRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ChangeEventService {
+
+    private final ChangeEventRepository repository;
+    private final EntityManager entityManager;
+
+    @Value("${movieflix.outbox.feed-page-size}")
+    private int feedPageSize;
+
+    // the event has to commit or roll back with the change it describes
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeAggregate aggregateType, Long aggregateId, ChangeOperation operation) {
+        this.recordAll(aggregateType, List.of(aggregateId), operation);
+    }
+
+    // event ids come from pooled blocks handed out before the change is written, so they do not follow commit order;
+    // the version does, as it is read under a per-aggregate lock taken after the change holds its row locks
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeAggregate aggregateType, Collection<Long> aggregateIds, ChangeOperation operation) {
+        if (operation != ChangeOperation.CREATED) {
+            entityManager.flush();
+        }
+        repository.saveAll(aggregateIds.stream()
+                .sorted()
+                .map(aggregateId -> ChangeEvent.builder()
+                        .aggregateType(aggregateType)
+                        .aggregateId(aggregateId)
+                        .aggregateVersion(this.nextVersion(aggregateType, aggregateId, operation))
+                        .operation(operation)
+                        .build())
+                .toList());
+    }
+
+    private long nextVersion(ChangeAggregate aggregateType, Long aggregateId, ChangeOperation operation) {
+        // nothing else can have changed an aggregate that is only now being created
+        if (operation == ChangeOperation.CREATED) {
+            return 1;
+        }
+        repository.lockAggregate(aggregateType.name(), aggregateId);
+        return repository.findLastVersion(aggregateType, aggregateId) + 1;
+    }
+
+    public int feedPageSize(Integer limit) {
+        if (limit == null || limit < 1) {
+            return feedPageSize;
+        }
+        return Math.min(limit, feedPageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ChangeEvent> findSince(long position, int limit) {
+        return repository.findByPositionGreaterThanOrderByPositionAsc(position, Limit.of(limit));
+    }
+}
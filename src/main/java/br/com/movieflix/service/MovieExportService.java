@@ -0,0 +1,93 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.mapper.MovieMapper;
+import br.com.movieflix.repository.MovieExportRow;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class MovieExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // the same pattern as MovieExportResponse and the rest of the API
+    private static final DateTimeFormatter RELEASE_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String CSV_HEADER = "id,title,description,release_date,rating,categories,streamings\n";
+
+    private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(gzip)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            // one flush per row would push a gzip block out for every movie
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            movieService.exportAll(row -> {
+                try {
+                    writer.writeValue(generator, MovieMapper.toMovieExportResponse(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeRaw('\n');
+        }
+    }
+
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(outputStream, BUFFER_SIZE), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(CSV_HEADER);
+            movieService.exportAll(row -> {
+                try {
+                    writer.write(toCsvLine(row));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static String toCsvLine(MovieExportRow row) {
+        return row.id() + ","
+                + escapeCsv(row.title()) + ","
+                + escapeCsv(row.description()) + ","
+                + (row.releaseDate() == null ? "" : RELEASE_DATE_FORMAT.format(row.releaseDate())) + ","
+                + row.rating() + ","
+                + joinIds(row.categories()) + ","
+                + joinIds(row.streamings()) + "\n";
+    }
+
+    private static String joinIds(List<Long> ids) {
+        return ids.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+    }
+
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.controller.request.MovieRequest;
+import br.com.movieflix.controller.response.BulkImportErrorResponse;
+import br.com.movieflix.controller.response.BulkImportResponse;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.mapper.MovieMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class MovieImportService {
+
+    private final MovieService movieService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${movieflix.movie.bulk-batch-size}")
+    private int batchSize;
+
+    @Value("${movieflix.movie.bulk-max-errors}")
+    private int maxErrors;
+
+    public BulkImportResponse importMovies(InputStream inputStream) throws IOException {
+        ImportErrors errors = new ImportErrors(maxErrors);
+        List<Movie> batch = new ArrayList<>(batchSize);
+        List<Long> batchRows = new ArrayList<>(batchSize);
+        long imported = 0;
+        long row = 0;
+
+        try (MappingIterator<MovieRequest> requests = objectMapper.readerFor(MovieRequest.class).readValues(inputStream)) {
+            while (true) {
+                row++;
+                try {
+                    if (!requests.hasNextValue()) {
+                        break;
+                    }
+                    MovieRequest request = requests.nextValue();
+                    Set<ConstraintViolation<MovieRequest>> violations = validator.validate(request);
+                    if (violations.isEmpty()) {
+                        batch.add(MovieMapper.toMovie(request));
+                        batchRows.add(row);
+                    } else {
+                        errors.add(this.toError(row, violations));
+                    }
+                } catch (DatabindException e) {
+                    errors.add(new BulkImportErrorResponse(row, e.getOriginalMessage()));
+                } catch (JsonProcessingException e) {
+                    errors.add(new BulkImportErrorResponse(row, "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+                    break;
+                }
+
+                if (batch.size() == batchSize) {
+                    imported += this.saveBatch(batch, batchRows, errors);
+                }
+            }
+        }
+        imported += this.saveBatch(batch, batchRows, errors);
+
+        return BulkImportResponse.builder()
+                .imported(imported)
+                .failed(errors.count)
+                .errors(errors.reported)
+                .build();
+    }
+
+    private long saveBatch(List<Movie> batch, List<Long> batchRows, ImportErrors errors) {
+        long saved = 0;
+        try {
+            movieService.saveAll(batch);
+            saved = batch.size();
+        } catch (DataAccessException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            batchRows.forEach(failedRow -> errors.add(new BulkImportErrorResponse(failedRow, message)));
+        }
+        batch.clear();
+        batchRows.clear();
+        return saved;
+    }
+
+    private BulkImportErrorResponse toError(long row, Set<ConstraintViolation<MovieRequest>> violations) {
+        String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return new BulkImportErrorResponse(row, message);
+    }
+
+    // every failure is counted, but only the first ones are kept, so a large bad body can't fill the heap
+    @RequiredArgsConstructor
+    private static class ImportErrors {
+
+        private final int maxReported;
+        private final List<BulkImportErrorResponse> reported = new ArrayList<>();
+        private long count;
+
+        void add(BulkImportErrorResponse error) {
+            count++;
+            if (reported.size() < maxReported) {
+                reported.add(error);
+            }
+        }
+    }
+}
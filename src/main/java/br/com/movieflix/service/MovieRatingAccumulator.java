@@ -0,0 +1,42 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.repository.MovieRatingTotals;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// rating deltas not yet written to movie_rating_summary, one immutable count and sum per movie
+public class MovieRatingAccumulator {
+
+    private final Map<Long, MovieRatingTotals> pendingByMovie = new ConcurrentHashMap<>();
+
+    public void add(Long movieId, MovieRatingTotals delta) {
+        pendingByMovie.merge(movieId, delta, MovieRatingTotals::plus);
+    }
+
+    public MovieRatingTotals pending(Long movieId) {
+        return pendingByMovie.getOrDefault(movieId, MovieRatingTotals.EMPTY);
+    }
+
+    // each movie's totals are taken out whole, so a concurrent delta lands either in them or in a new entry for the next drain
+    public Map<Long, MovieRatingTotals> drain() {
+        Map<Long, MovieRatingTotals> drained = new HashMap<>();
+        for (Long movieId : pendingByMovie.keySet()) {
+            MovieRatingTotals totals = pendingByMovie.remove(movieId);
+            if (totals != null && !totals.isEmpty()) {
+                drained.put(movieId, totals);
+            }
+        }
+        return drained;
+    }
+
+    public void removeAll(Collection<Long> movieIds) {
+        movieIds.forEach(pendingByMovie::remove);
+    }
+
+    public int size() {
+        return pendingByMovie.size();
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.repository.MovieRatingRepository;
+import br.com.movieflix.repository.MovieRepository;
+import br.com.movieflix.repository.MovieRatingTotals;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MovieRatingService {
+
+    private final MovieRatingRepository repository;
+    private final MovieRepository movieRepository;
+    private final MovieRatingAccumulator accumulator = new MovieRatingAccumulator();
+
+    @Value("${movieflix.rating.rebuild-on-startup}")
+    private boolean rebuildOnStartup;
+
+    @Value("${movieflix.rating.reconcile-settle}")
+    private Duration reconcileSettle;
+
+    @Value("${movieflix.rating.reconcile-lookback}")
+    private Duration reconcileLookback;
+
+    private LocalDateTime reconciledUpTo;
+
+    // the per-user row is written straight away; the movie totals only change in the next flush
+    public Optional<MovieRatingTotals> rate(Long movieId, Long userId, int score) {
+        try {
+            accumulator.add(movieId, repository.upsert(movieId, userId, score));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+        return this.findTotals(movieId);
+    }
+
+    public Optional<MovieRatingTotals> findTotals(Long movieId) {
+        // flushed first: a flush in between can hide a delta for one read, but never count it twice
+        Optional<MovieRatingTotals> flushed = repository.findTotals(movieId);
+        MovieRatingTotals pending = accumulator.pending(movieId);
+        if (flushed.isEmpty() && pending.isEmpty() && !movieRepository.existsById(movieId)) {
+            return Optional.empty();
+        }
+        return Optional.of(flushed.orElse(MovieRatingTotals.EMPTY).plus(pending));
+    }
+
+    @Scheduled(fixedDelayString = "${movieflix.rating.flush-interval}", initialDelayString = "${movieflix.rating.flush-interval}")
+    public void flush() {
+        Map<Long, MovieRatingTotals> drained = accumulator.drain();
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            accumulator.removeAll(repository.addAll(drained));
+        } catch (RuntimeException e) {
+            drained.forEach(accumulator::add);
+            log.warn("Rating totals flush failed for {} movies, retrying on the next flush", drained.size(), e);
+        }
+    }
+
+    // deltas lost to a crash or a flush that kept failing are recovered from the per-user rows, for the movies whose
+    // last rating is older than reconcile-settle, long after every instance has flushed it; safe with several instances
+    @Scheduled(fixedDelayString = "${movieflix.rating.reconcile-interval}", initialDelayString = "${movieflix.rating.reconcile-interval}")
+    public void reconcile() {
+        LocalDateTime upTo = repository.findSettledUpTo(reconcileSettle);
+        LocalDateTime from = reconciledUpTo == null ? upTo.minus(reconcileLookback) : reconciledUpTo;
+        int corrected = repository.reconcileTotals(from, upTo);
+        reconciledUpTo = upTo;
+        if (corrected > 0) {
+            log.warn("Rating totals of {} movies did not match their ratings and were recounted", corrected);
+        }
+    }
+
+    // totals still in memory when a previous run stopped are recovered from the per-user rows,
+    // before the server takes requests that could add deltas the rebuild already counts
+    @PostConstruct
+    public void rebuildTotals() {
+        if (rebuildOnStartup) {
+            repository.rebuildTotals();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        this.flush();
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.repository.MovieReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class MovieReactiveService {
+
+    private final MovieReactiveRepository movieReactiveRepository;
+
+    public Mono<Movie> findById(Long id) {
+        return movieReactiveRepository.findById(id);
+    }
+
+    public Flux<Movie> findPage(long afterId, int pageSize) {
+        return movieReactiveRepository.findPage(afterId, pageSize + 1);
+    }
+
+    public Flux<Movie> findByCategory(Long categoryId, long afterId, int pageSize) {
+        return movieReactiveRepository.findByCategory(categoryId, afterId, pageSize + 1);
+    }
+
+    public Flux<Movie> streamAll() {
+        return movieReactiveRepository.findAll();
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.movieflix.service;
+
+import java.time.LocalDateTime;
+
+public record MovieResponseBody(LocalDateTime updatedAt, byte[] json, byte[] gzip) {
+}
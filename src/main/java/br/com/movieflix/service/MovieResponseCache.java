@@ -0,0 +1,97 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.cache.ExpiringCache;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.mapper.MovieMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+// Entries are checked against the movie's current updatedAt, so a body serialized from a
+// stale read is never served after the movie changes.
+@Service
+public class MovieResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<Long, MovieResponseBody> bodies;
+    private final Clock clock = Clock.systemUTC();
+    private final Duration ttl;
+    private final int gzipMinSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MovieResponseCache(ObjectMapper objectMapper,
+                              @Value("${movieflix.movie.response-cache.max-entries}") int maxEntries,
+                              @Value("${movieflix.movie.response-cache.ttl}") Duration ttl,
+                              @Value("${movieflix.movie.response-cache.gzip-min-size}") int gzipMinSize) {
+        this.objectMapper = objectMapper;
+        this.bodies = new ExpiringCache<>(maxEntries, clock);
+        this.ttl = ttl;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    public Optional<MovieResponseBody> get(Long id, LocalDateTime updatedAt) {
+        Optional<MovieResponseBody> body = bodies.get(id)
+                .filter(cached -> cached.updatedAt().equals(updatedAt));
+        if (body.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return body;
+    }
+
+    public MovieResponseBody put(Movie movie) {
+        byte[] json = this.serialize(movie);
+        MovieResponseBody body = new MovieResponseBody(movie.getUpdatedAt(), json, json.length >= gzipMinSize ? gzip(json) : null);
+        if (movie.getUpdatedAt() != null) {
+            bodies.put(movie.getId(), body, clock.instant().plus(ttl));
+        }
+        return body;
+    }
+
+    public void evict(Long id) {
+        bodies.remove(id);
+    }
+
+    public int size() {
+        return bodies.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private byte[] serialize(Movie movie) {
+        try {
+            return objectMapper.writeValueAsBytes(MovieMapper.toMovieResponse(movie));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
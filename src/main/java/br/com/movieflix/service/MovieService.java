@@ -1,42 +1,216 @@
 package br.com.movieflix.service;
 
+import br.com.movieflix.cache.MovieCategoryIndex;
+import br.com.movieflix.cache.MovieRankingIndex;
 import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeOperation;
 import br.com.movieflix.entity.Movie;
 import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.exception.InvalidSortException;
+import br.com.movieflix.repository.MovieBulkRepository;
+import br.com.movieflix.repository.MovieExportRow;
+import br.com.movieflix.repository.MovieField;
+import br.com.movieflix.repository.MovieFilter;
+import br.com.movieflix.repository.MovieProjectionRepository;
+import br.com.movieflix.repository.MovieRanking;
 import br.com.movieflix.repository.MovieRepository;
+import br.com.movieflix.repository.MovieSpecifications;
+import br.com.movieflix.repository.RankedMovie;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class MovieService {
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "rating", "releaseDate");
+
     private final MovieRepository movieRepository;
+    private final MovieBulkRepository movieBulkRepository;
+    private final MovieProjectionRepository movieProjectionRepository;
     private final CategoryService categoryService;
     private final StreamingService streamingService;
+    private final EntityManager entityManager;
+    private final MovieCategoryIndex movieCategoryIndex;
+    private final MovieRankingIndex movieRankingIndex;
+    private final MovieResponseCache movieResponseCache;
+    private final ChangeEventService changeEventService;
+
+    @Value("${movieflix.movie.page-size}")
+    private int defaultPageSize;
+
+    @Value("${movieflix.movie.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${movieflix.movie.category-index.enabled}")
+    private boolean categoryIndexEnabled;
 
+    @Value("${movieflix.movie.ranking.enabled}")
+    private boolean rankingIndexEnabled;
+
+    @Value("${movieflix.movie.ranking.max-limit}")
+    private int maxTopLimit;
+
+    @Transactional
     public Movie save(Movie movie) {
         movie.setCategories(this.findCategories(movie.getCategories()));
         movie.setStreaming(this.findStreamings(movie.getStreaming()));
-        return movieRepository.save(movie);
+        Movie savedMovie = movieRepository.save(movie);
+        changeEventService.record(ChangeAggregate.MOVIE, savedMovie.getId(), ChangeOperation.CREATED);
+        this.indexAfterCommit(savedMovie);
+        return savedMovie;
+    }
+
+    @Transactional
+    public void saveAll(List<Movie> movies) {
+        movies.forEach(movie -> {
+            movie.setCategories(this.findCategories(movie.getCategories()));
+            movie.setStreaming(this.findStreamings(movie.getStreaming()));
+        });
+        movieBulkRepository.insertAll(movies);
+        this.evictQueryCacheAfterCommit();
+
+        Map<Long, List<Long>> categoryIdsByMovie = new HashMap<>();
+        Map<Long, Map<MovieRanking, Double>> scoresByMovie = new HashMap<>();
+        movies.forEach(movie -> {
+            categoryIdsByMovie.put(movie.getId(), categoryIds(movie));
+            scoresByMovie.put(movie.getId(), MovieRanking.scores(movie));
+        });
+        changeEventService.recordAll(ChangeAggregate.MOVIE, categoryIdsByMovie.keySet(), ChangeOperation.CREATED);
+        TransactionCallbacks.afterCommit(() -> {
+            movieCategoryIndex.putAll(categoryIdsByMovie);
+            scoresByMovie.forEach((movieId, scores) -> movieRankingIndex.put(movieId, categoryIdsByMovie.get(movieId), scores));
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<MovieExportRow> consumer) {
+        movieBulkRepository.exportAll(consumer);
+    }
+
+    public int pageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    public List<Movie> findPage(long afterId, int pageSize) {
+        return movieRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movie> findPage(Set<MovieField> fields, long afterId, int pageSize) {
+        return movieProjectionRepository.findAll(fields, (root, query, cb) -> cb.greaterThan(root.get("id"), afterId),
+                PageRequest.of(0, pageSize + 1, Sort.by("id")));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Movie> consumer) {
+        List<Movie> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<Movie> movies = movieRepository.streamAllOrderById()) {
+            movies.forEach(movie -> {
+                chunk.add(movie);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    this.flushChunk(chunk, consumer);
+                }
+            });
+        }
+        this.flushChunk(chunk, consumer);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movie> filter(MovieFilter filter, int page, int pageSize, Sort sort) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, this.validSort(sort));
+        if (this.isServedByCategoryIndex(filter, pageRequest.getSort())) {
+            long[] movieIds = movieCategoryIndex.findMovieIds(filter.categories(), filter.allCategories(),
+                    pageRequest.getOffset(), pageSize);
+            return this.findAllInOrder(movieIds);
+        }
+        return movieRepository.findBy(MovieSpecifications.matching(filter), query -> query.slice(pageRequest))
+                .getContent();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movie> filter(Set<MovieField> fields, MovieFilter filter, int page, int pageSize, Sort sort) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize, this.validSort(sort));
+        if (this.isServedByCategoryIndex(filter, pageRequest.getSort())) {
+            long[] movieIds = movieCategoryIndex.findMovieIds(filter.categories(), filter.allCategories(),
+                    pageRequest.getOffset(), pageSize);
+            return movieProjectionRepository.findAllById(fields, Arrays.stream(movieIds).boxed().toList());
+        }
+        return movieProjectionRepository.findAll(fields, MovieSpecifications.matching(filter), pageRequest);
+    }
+
+    public List<Movie> search(String query, int page, int pageSize) {
+        return movieRepository.searchByText(query, pageSize, (long) Math.max(page, 0) * pageSize);
     }
 
-    public List<Movie> findAll() {
-        return movieRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<Movie> search(Set<MovieField> fields, String query, int page, int pageSize) {
+        List<Long> movieIds = movieRepository.searchIdsByText(query, pageSize, (long) Math.max(page, 0) * pageSize);
+        return movieProjectionRepository.findAllById(fields, movieIds);
     }
 
-    public List<Movie> findByCategory(Long categoryId){
-        return movieRepository.findMovieByCategories(List.of(Category.builder().id(categoryId).build()));
+    public int topLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(10, maxTopLimit);
+        }
+        return Math.min(limit, maxTopLimit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Movie> findTop(MovieRanking ranking, Long categoryId, int limit) {
+        // the index keeps a list per category it is asked about, so ids that match no category stop here
+        if (categoryId != null && categoryService.findById(categoryId).isEmpty()) {
+            return List.of();
+        }
+        long[] movieIds = rankingIndexEnabled
+                ? movieRankingIndex.findTop(ranking, categoryId, limit)
+                : movieBulkRepository.findTopRanked(ranking, categoryId, limit).stream().mapToLong(RankedMovie::movieId).toArray();
+        return this.findAllInOrder(movieIds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmRankingIndex() {
+        if (rankingIndexEnabled) {
+            movieRankingIndex.warm(categoryService.findAllIds());
+        }
     }
 
     public Optional<Movie> findById(Long id) {
         return movieRepository.findById(id);
     }
 
+    public Optional<LocalDateTime> findVersion(Long id) {
+        return movieRepository.findUpdatedAtById(id);
+    }
+
+    @Transactional
     public Optional<Movie> update(Long movieId, Movie updateMovie) {
         Optional<Movie> optMovie = movieRepository.findById(movieId);
         if (optMovie.isPresent()) {
@@ -49,6 +223,7 @@ public class MovieService {
             movie.setDescription(updateMovie.getDescription());
             movie.setReleaseDate(updateMovie.getReleaseDate());
             movie.setRating(updateMovie.getRating());
+            movie.setUpdatedAt(LocalDateTime.now());
 
             movie.getCategories().clear();
             movie.getCategories().addAll(categories);
@@ -57,27 +232,95 @@ public class MovieService {
             movie.getStreaming().addAll(streamings);
 
             movieRepository.save(movie);
+            changeEventService.record(ChangeAggregate.MOVIE, movieId, ChangeOperation.UPDATED);
+            this.indexAfterCommit(movie);
+            TransactionCallbacks.afterCommit(() -> movieResponseCache.evict(movieId));
             return Optional.of(movie);
         }
         return Optional.empty();
     }
 
+    @Transactional
     public void deleteById(Long id){
         movieRepository.deleteById(id);
+        changeEventService.record(ChangeAggregate.MOVIE, id, ChangeOperation.DELETED);
+        TransactionCallbacks.afterCommit(() -> {
+            movieCategoryIndex.remove(id);
+            movieRankingIndex.remove(id);
+            movieResponseCache.evict(id);
+        });
+    }
+
+    // the bulk insert bypasses Hibernate, so it cannot invalidate the cached queries over movie itself
+    private void evictQueryCacheAfterCommit() {
+        TransactionCallbacks.afterCommit(() -> entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions());
+    }
+
+    private void indexAfterCommit(Movie movie) {
+        Long movieId = movie.getId();
+        List<Long> categoryIds = categoryIds(movie);
+        Map<MovieRanking, Double> scores = MovieRanking.scores(movie);
+        TransactionCallbacks.afterCommit(() -> {
+            movieCategoryIndex.put(movieId, categoryIds);
+            movieRankingIndex.put(movieId, categoryIds, scores);
+        });
+    }
+
+    // the index only knows category membership in id order, anything narrower or reordered goes to the database
+    private boolean isServedByCategoryIndex(MovieFilter filter, Sort sort) {
+        return categoryIndexEnabled
+                && filter.categories() != null && !filter.categories().isEmpty()
+                && (filter.streamings() == null || filter.streamings().isEmpty())
+                && filter.minRating() == null
+                && filter.releasedFrom() == null
+                && filter.releasedTo() == null
+                && sort.equals(Sort.by("id"));
+    }
+
+    // multiLoad keeps the order of the ids and serves what it can from the second-level cache
+    private List<Movie> findAllInOrder(long[] movieIds) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Movie.class)
+                .multiLoad(Arrays.stream(movieIds).boxed().toList())
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static List<Long> categoryIds(Movie movie) {
+        return movie.getCategories()
+                .stream()
+                .map(Category::getId)
+                .toList();
+    }
+
+    private Sort validSort(Sort sort) {
+        sort.forEach(order -> {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidSortException("Cannot sort movies by " + order.getProperty());
+            }
+        });
+        return sort.getOrderFor("id") == null ? sort.and(Sort.by("id")) : sort;
+    }
+
+    private void flushChunk(List<Movie> chunk, Consumer<Movie> consumer) {
+        chunk.forEach(consumer);
+        chunk.clear();
+        entityManager.clear();
     }
 
     private List<Category> findCategories(List<Category> categories) {
-        List<Category> categoriesFound = new ArrayList<>();
-        categories.forEach(category -> categoryService.findById(category.getId())
-                .ifPresent(categoriesFound::add));
-        return categoriesFound;
+        List<Long> categoryIds = categories.stream()
+                .map(Category::getId)
+                .toList();
+        return new ArrayList<>(categoryService.findAllById(categoryIds));
     }
 
     private List<Streaming> findStreamings(List<Streaming> streamings) {
-        List<Streaming> streamingsFound = new ArrayList<>();
-        streamings.forEach(streaming -> streamingService.findById(streaming.getId())
-                .ifPresent(streamingsFound::add));
-        return streamingsFound;
+        List<Long> streamingIds = streamings.stream()
+                .map(Streaming::getId)
+                .toList();
+        return new ArrayList<>(streamingService.findAllById(streamingIds));
     }
 
 }
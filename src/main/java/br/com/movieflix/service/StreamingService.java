@@ -1,9 +1,14 @@
 package br.com.movieflix.service;
 
+import br.com.movieflix.cache.ReferenceDataCache;
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeOperation;
 import br.com.movieflix.entity.Streaming;
 import br.com.movieflix.repository.StreamingRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,21 +18,43 @@ import java.util.Optional;
 public class StreamingService {
 
     private final StreamingRepository repository;
+    private final ReferenceDataCache<Streaming> cache;
+    private final ChangeEventService changeEventService;
 
     public List<Streaming> findAll() {
-        return repository.findAll();
+        return cache.findAll();
 
     }
 
+    @Transactional
     public Streaming saveStreaming(Streaming streaming){
-        return repository.save(streaming);
+        Streaming savedStreaming = repository.save(streaming);
+        changeEventService.record(ChangeAggregate.STREAMING, savedStreaming.getId(), ChangeOperation.CREATED);
+        TransactionCallbacks.afterCommit(() -> cache.put(savedStreaming));
+        return savedStreaming;
     }
 
     public Optional<Streaming> findById(Long id){
-        return repository.findById(id);
+        return cache.findById(id);
     }
 
+    @Scheduled(fixedDelayString = "${movieflix.reference-data.refresh-interval}", initialDelayString = "${movieflix.reference-data.refresh-interval}")
+    public void refreshCache(){
+        cache.refresh();
+    }
+
+    public String version(){
+        return cache.version();
+    }
+
+    public List<Streaming> findAllById(List<Long> ids){
+        return cache.findAllById(ids);
+    }
+
+    @Transactional
     public void deleteStreaming(Long id){
         repository.deleteById(id);
+        changeEventService.record(ChangeAggregate.STREAMING, id, ChangeOperation.DELETED);
+        TransactionCallbacks.afterCommit(() -> cache.remove(id));
     }
 }
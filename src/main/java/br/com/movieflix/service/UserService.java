@@ -1,21 +1,37 @@
 package br.com.movieflix.service;
 
+import br.com.movieflix.config.PasswordHashingExecutor;
 import br.com.movieflix.entity.User;
+import br.com.movieflix.exception.EmailAlreadyRegisteredException;
 import br.com.movieflix.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
-    public User save(User user){
-        String password = user.getPassword();
-        user.setPassword(passwordEncoder.encode(password));
-        return userRepository.save(user);
+    public CompletableFuture<User> save(User user){
+        // checked before hashing so a known email doesn't cost a bcrypt round; the unique index catches races
+        if (userRepository.existsByEmail(user.getEmail())) {
+            return CompletableFuture.failedFuture(new EmailAlreadyRegisteredException("Email already registered"));
+        }
+        return passwordHashingExecutor.submit(() -> {
+            String password = user.getPassword();
+            user.setPassword(passwordEncoder.encode(password));
+            try {
+                return userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                throw new EmailAlreadyRegisteredException("Email already registered");
+            }
+        });
     }
 }
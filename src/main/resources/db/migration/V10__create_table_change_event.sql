@@ -0,0 +1,14 @@
+CREATE SEQUENCE change_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE change_event (
+    id bigint PRIMARY KEY,
+    aggregate_type varchar(20) NOT NULL,
+    aggregate_id bigint NOT NULL,
+    operation varchar(20) NOT NULL,
+    created_at timestamp NOT NULL,
+    position bigint,
+    published_at timestamp
+);
+
+CREATE INDEX idx_change_event_pending ON change_event (id) WHERE position IS NULL;
+CREATE UNIQUE INDEX ux_change_event_position ON change_event (position);
@@ -0,0 +1,17 @@
+CREATE TABLE movie_rating (
+    movie_id INTEGER NOT NULL,
+    user_id INTEGER NOT NULL,
+    score smallint NOT NULL,
+    previous_score smallint,
+    rated_at timestamp NOT NULL,
+    CONSTRAINT pk_movie_rating PRIMARY KEY (movie_id, user_id),
+    CONSTRAINT fk_movie_rating_movie FOREIGN KEY(movie_id) REFERENCES movie(id) ON DELETE CASCADE,
+    CONSTRAINT fk_movie_rating_user FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE movie_rating_summary (
+    movie_id INTEGER PRIMARY KEY,
+    rating_count bigint NOT NULL,
+    rating_sum bigint NOT NULL,
+    CONSTRAINT fk_movie_rating_summary_movie FOREIGN KEY(movie_id) REFERENCES movie(id) ON DELETE CASCADE
+);
@@ -0,0 +1,11 @@
+ALTER TABLE change_event ADD COLUMN aggregate_version bigint;
+
+UPDATE change_event e
+SET aggregate_version = v.version
+FROM (SELECT id, row_number() OVER (PARTITION BY aggregate_type, aggregate_id ORDER BY id) AS version
+      FROM change_event) v
+WHERE e.id = v.id;
+
+ALTER TABLE change_event ALTER COLUMN aggregate_version SET NOT NULL;
+
+CREATE UNIQUE INDEX ux_change_event_aggregate_version ON change_event (aggregate_type, aggregate_id, aggregate_version);
@@ -0,0 +1 @@
+CREATE INDEX idx_movie_rating_rated_at ON movie_rating (rated_at);
@@ -0,0 +1,26 @@
+DELETE FROM movie_category WHERE movie_id IS NULL OR category_id IS NULL;
+
+DELETE FROM movie_category a
+    USING movie_category b
+    WHERE a.ctid < b.ctid
+      AND a.movie_id = b.movie_id
+      AND a.category_id = b.category_id;
+
+ALTER TABLE movie_category ADD CONSTRAINT pk_movie_category PRIMARY KEY (movie_id, category_id);
+CREATE INDEX idx_movie_category_category ON movie_category (category_id, movie_id);
+
+DELETE FROM movie_streaming WHERE movie_id IS NULL OR streaming_id IS NULL;
+
+DELETE FROM movie_streaming a
+    USING movie_streaming b
+    WHERE a.ctid < b.ctid
+      AND a.movie_id = b.movie_id
+      AND a.streaming_id = b.streaming_id;
+
+ALTER TABLE movie_streaming ADD CONSTRAINT pk_movie_streaming PRIMARY KEY (movie_id, streaming_id);
+CREATE INDEX idx_movie_streaming_streaming ON movie_streaming (streaming_id, movie_id);
+
+CREATE UNIQUE INDEX ux_users_email ON users (email);
+
+CREATE INDEX idx_movie_rating ON movie (rating DESC, id);
+CREATE INDEX idx_movie_release_date ON movie (release_date DESC, id);
@@ -0,0 +1 @@
+ALTER SEQUENCE movie_id_seq INCREMENT BY 50;
@@ -0,0 +1,154 @@
+package br.com.movieflix.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void evictsEntriesAtTheirExpiry() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock);
+        cache.put("token", "user", clock.instant().plusSeconds(60));
+
+        assertThat(cache.get("token")).contains("user");
+
+        clock.advance(Duration.ofSeconds(60));
+
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresEntriesThatAreAlreadyExpired() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, clock);
+        cache.put("expired", "user", clock.instant());
+        cache.put("no-expiry", "user", null);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void staysWithinItsBoundPreferringToDropExpiredEntries() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, clock);
+        cache.put("short", "a", clock.instant().plusSeconds(10));
+        cache.put("long", "b", clock.instant().plusSeconds(100));
+
+        clock.advance(Duration.ofSeconds(10));
+        cache.put("new", "c", clock.instant().plusSeconds(100));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("long")).contains("b");
+        assertThat(cache.get("new")).contains("c");
+
+        cache.put("newest", "d", clock.instant().plusSeconds(100));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("newest")).contains("d");
+    }
+
+    @Test
+    void evictsTheOldestInsertedEntryWhenFull() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(3, clock);
+        cache.put("a", "a", clock.instant().plusSeconds(100));
+        cache.put("b", "b", clock.instant().plusSeconds(100));
+        cache.put("c", "c", clock.instant().plusSeconds(100));
+
+        cache.put("a", "a2", clock.instant().plusSeconds(200));
+        cache.put("d", "d", clock.instant().plusSeconds(100));
+        cache.remove("b");
+        cache.put("e", "e", clock.instant().plusSeconds(100));
+        cache.put("f", "f", clock.instant().plusSeconds(100));
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get("a")).isEmpty();
+        assertThat(cache.get("c")).isEmpty();
+        assertThat(cache.get("d")).contains("d");
+        assertThat(cache.get("e")).contains("e");
+        assertThat(cache.get("f")).contains("f");
+    }
+
+    @Test
+    void servesConcurrentReadsWhileWritersChurnPastTheBound() throws Exception {
+        ExpiringCache<Integer, Integer> cache = new ExpiringCache<>(64, clock);
+        Instant expiresAt = clock.instant().plusSeconds(100);
+        IntStream.range(0, 32).forEach(key -> cache.put(key, key, expiresAt));
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(16)) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < 12; t++) {
+                tasks.add(threads.submit(() -> {
+                    for (int i = 0; i < 200_000; i++) {
+                        int key = i % 32;
+                        // a key is only ever cached with itself as the value
+                        cache.get(key).ifPresent(value -> assertThat(value).isEqualTo(key));
+                    }
+                }));
+            }
+            for (int t = 0; t < 4; t++) {
+                int writer = t;
+                tasks.add(threads.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        int key = 32 + (writer * 50_000 + i) % 1000;
+                        cache.put(key, key, expiresAt);
+                        if (i % 7 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(64);
+        assertThat(cache.hitCount() + cache.missCount()).isEqualTo(12 * 200_000L);
+        cache.put(-1, -1, expiresAt);
+        assertThat(cache.get(-1)).contains(-1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
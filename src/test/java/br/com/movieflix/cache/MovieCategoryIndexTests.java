@@ -0,0 +1,164 @@
+package br.com.movieflix.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieCategoryIndexTests {
+
+    private final AtomicInteger loadAllCalls = new AtomicInteger();
+
+    private MovieCategoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MovieCategoryIndex(() -> {
+            loadAllCalls.incrementAndGet();
+            return new HashMap<>(Map.of(
+                    1L, new long[]{1, 2, 3, 5, 8},
+                    2L, new long[]{2, 4, 5, 6}));
+        });
+    }
+
+    @Test
+    void pagesThroughOneCategory() {
+        assertThat(index.findMovieIds(List.of(1L), false, 0, 2)).containsExactly(1, 2);
+        assertThat(index.findMovieIds(List.of(1L), false, 4, 2)).containsExactly(8);
+        assertThat(index.findMovieIds(List.of(1L), false, 10, 2)).isEmpty();
+        assertThat(index.findMovieIds(List.of(99L), false, 0, 2)).isEmpty();
+        assertThat(loadAllCalls).hasValue(1);
+    }
+
+    @Test
+    void mergesAnyOrAllCategoriesInIdOrder() {
+        assertThat(index.findMovieIds(List.of(1L, 2L), false, 0, 10)).containsExactly(1, 2, 3, 4, 5, 6, 8);
+        assertThat(index.findMovieIds(List.of(1L, 2L), false, 2, 3)).containsExactly(3, 4, 5);
+        assertThat(index.findMovieIds(List.of(1L, 2L), true, 0, 10)).containsExactly(2, 5);
+        assertThat(index.findMovieIds(List.of(1L, 2L), true, 1, 10)).containsExactly(5);
+    }
+
+    @Test
+    void patchesTheIndexOnWrites() {
+        index.findMovieIds(List.of(1L), false, 0, 10);
+
+        index.put(4L, List.of(1L, 3L));
+        index.put(5L, List.of(2L));
+        index.putAll(Map.of(10L, List.of(1L), 11L, List.of(2L, 3L)));
+        index.remove(2L);
+
+        assertThat(index.findMovieIds(List.of(1L), false, 0, 10)).containsExactly(1, 3, 4, 8, 10);
+        assertThat(index.findMovieIds(List.of(2L), false, 0, 10)).containsExactly(5, 6, 11);
+        assertThat(index.findMovieIds(List.of(3L), false, 0, 10)).containsExactly(4, 11);
+
+        index.removeCategory(3L);
+
+        assertThat(index.findMovieIds(List.of(3L), false, 0, 10)).isEmpty();
+        assertThat(loadAllCalls).hasValue(1);
+    }
+
+    @Test
+    void leavesWritesBeforeTheFirstLoadToTheLoad() {
+        index.put(9L, List.of(1L));
+
+        assertThat(index.findMovieIds(List.of(1L), false, 0, 10)).containsExactly(1, 2, 3, 5, 8);
+    }
+
+    @Test
+    void keepsAMovieInTheCategoriesOfOneWriteWhenTwoRace() throws Exception {
+        index.findMovieIds(List.of(1L), false, 0, 10);
+
+        try (ExecutorService writers = Executors.newFixedThreadPool(2)) {
+            for (int round = 0; round < 5000; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> first = writers.submit(() -> {
+                    await(start);
+                    index.put(100L, List.of(1L, 2L));
+                });
+                Future<?> second = writers.submit(() -> {
+                    await(start);
+                    index.put(100L, List.of(2L, 3L));
+                });
+                start.countDown();
+                first.get();
+                second.get();
+
+                // whichever write came last, the movie is in category 2 and in exactly one of 1 and 3
+                assertThat(LongStream.rangeClosed(1, 3).filter(this::containsMovie100).toArray())
+                        .as("categories after round %d", round)
+                        .satisfiesAnyOf(
+                                categories -> assertThat(categories).containsExactly(1, 2),
+                                categories -> assertThat(categories).containsExactly(2, 3));
+            }
+        }
+    }
+
+    @Test
+    void replaysWritesThatRacedWithTheLoad() {
+        MovieCategoryIndex racing = new MovieCategoryIndex(() -> {
+            loadAllCalls.incrementAndGet();
+            index.remove(1L);
+            index.put(3L, List.of(2L));
+            return new HashMap<>(Map.of(1L, new long[]{1, 2}, 2L, new long[]{1}));
+        });
+        index = racing;
+
+        assertThat(racing.findMovieIds(List.of(1L), false, 0, 10)).containsExactly(2);
+        assertThat(racing.findMovieIds(List.of(2L), false, 0, 10)).containsExactly(3);
+        assertThat(loadAllCalls).hasValue(1);
+    }
+
+    @Test
+    void coldReadsShareOneLoad() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        index = new MovieCategoryIndex(() -> {
+            loadAllCalls.incrementAndGet();
+            loadStarted.countDown();
+            try {
+                releaseLoad.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new HashMap<>(Map.of(1L, new long[]{1, 2}));
+        });
+
+        try (ExecutorService readers = Executors.newFixedThreadPool(4)) {
+            List<Future<long[]>> reads = IntStream.range(0, 4)
+                    .mapToObj(i -> readers.submit(() -> index.findMovieIds(List.of(1L), false, 0, 10)))
+                    .toList();
+            loadStarted.await();
+            index.put(3L, List.of(1L));
+            releaseLoad.countDown();
+
+            for (Future<long[]> read : reads) {
+                assertThat(read.get()).containsExactly(1, 2, 3);
+            }
+        }
+        assertThat(loadAllCalls).hasValue(1);
+    }
+
+    private boolean containsMovie100(long categoryId) {
+        return Arrays.stream(index.findMovieIds(List.of(categoryId), false, 0, 100)).anyMatch(id -> id == 100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
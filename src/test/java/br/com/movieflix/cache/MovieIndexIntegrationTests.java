@@ -0,0 +1,167 @@
+package br.com.movieflix.cache;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.repository.CategoryRepository;
+import br.com.movieflix.repository.MovieBulkRepository;
+import br.com.movieflix.repository.MovieFilter;
+import br.com.movieflix.repository.MovieRanking;
+import br.com.movieflix.repository.MovieRepository;
+import br.com.movieflix.repository.MovieSpecifications;
+import br.com.movieflix.repository.RankedMovie;
+import br.com.movieflix.service.MovieService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the category and ranking indexes behind MovieService, checked against the queries they stand in for
+@SpringBootTest
+class MovieIndexIntegrationTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MovieBulkRepository movieBulkRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Indexed").build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.findAll(MovieSpecifications.matching(filter())).forEach(movie -> movieRepository.deleteById(movie.getId()));
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void categoryFilterIsServedFromTheIndexAndFollowsWrites() {
+        Movie first = movieService.save(movie("First"));
+        Movie second = movieService.save(movie("Second"));
+        movieService.saveAll(new ArrayList<>(List.of(movie("Bulk"))));
+
+        statistics.clear();
+        assertThat(indexedTitles()).containsExactly("First", "Second", "Bulk");
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+
+        Movie uncategorized = movie("Second");
+        uncategorized.setCategories(new ArrayList<>());
+        movieService.update(second.getId(), uncategorized);
+        movieService.deleteById(first.getId());
+        movieRepository.deleteById(second.getId());
+
+        assertThat(indexedTitles()).containsExactly("Bulk");
+    }
+
+    @Test
+    void topMoviesFollowWritesAndMatchTheQuery() {
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Movie movie = movie("Top " + i);
+            movie.setRating(i % 3);
+            movie.setReleaseDate(LocalDate.of(2020, 1, 1).plusDays(i * 7L % 5));
+            movies.add(movieService.save(movie));
+        }
+        assertThat(topIds(MovieRanking.RATING)).isEqualTo(queriedTopIds(MovieRanking.RATING));
+
+        Movie best = movie("Best");
+        best.setRating(9);
+        movieService.saveAll(new ArrayList<>(List.of(best)));
+        Movie updated = movie("Top 1");
+        updated.setRating(8);
+        updated.setReleaseDate(LocalDate.of(2024, 1, 1));
+        movieService.update(movies.get(1).getId(), updated);
+        movieService.deleteById(movies.get(5).getId());
+
+        for (MovieRanking ranking : MovieRanking.values()) {
+            assertThat(topIds(ranking)).as(ranking.getRankingName()).isEqualTo(queriedTopIds(ranking));
+        }
+        assertThat(topIds(MovieRanking.RATING)).startsWith(best.getId(), movies.get(1).getId());
+    }
+
+    @Test
+    void topMoviesOfAnUnknownCategoryAreEmptyLikeTheQuery() {
+        assertThat(movieService.findTop(MovieRanking.RATING, Long.MAX_VALUE, 5)).isEmpty();
+        assertThat(movieBulkRepository.findTopRanked(MovieRanking.RATING, Long.MAX_VALUE, 5)).isEmpty();
+    }
+
+    private List<Long> topIds(MovieRanking ranking) {
+        return movieService.findTop(ranking, category.getId(), 5)
+                .stream()
+                .map(Movie::getId)
+                .toList();
+    }
+
+    private List<Long> queriedTopIds(MovieRanking ranking) {
+        return movieBulkRepository.findTopRanked(ranking, category.getId(), 5)
+                .stream()
+                .map(RankedMovie::movieId)
+                .toList();
+    }
+
+    private List<String> indexedTitles() {
+        return movieService.filter(filter(), 0, 50, Sort.by("id"))
+                .stream()
+                .map(Movie::getTitle)
+                .toList();
+    }
+
+    private MovieFilter filter() {
+        return MovieFilter.builder().categories(List.of(category.getId())).build();
+    }
+
+    private Movie movie(String title) {
+        return Movie.builder()
+                .title(title)
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .rating(7)
+                .categories(new ArrayList<>(List.of(Category.builder().id(category.getId()).build())))
+                .streaming(new ArrayList<>())
+                .build();
+    }
+}
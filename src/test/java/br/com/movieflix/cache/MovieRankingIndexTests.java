@@ -0,0 +1,150 @@
+package br.com.movieflix.cache;
+
+import br.com.movieflix.repository.MovieRanking;
+import br.com.movieflix.repository.RankedMovie;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieRankingIndexTests {
+
+    private final Map<Long, Row> table = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private MovieRankingIndex racing;
+
+    private final MovieRankingIndex index = new MovieRankingIndex(3, (ranking, categoryId, limit) -> {
+        loads.incrementAndGet();
+        return this.query(ranking, categoryId, limit);
+    });
+
+    @Test
+    void ranksByScoreThenIdAndLoadsEachListOnce() {
+        this.write(1, List.of(1L), 7.0, 100L);
+        this.write(2, List.of(1L, 2L), 9.0, null);
+        this.write(3, List.of(2L), 7.0, 300L);
+
+        assertThat(index.findTop(MovieRanking.RATING, null, 10)).containsExactly(2, 1, 3);
+        assertThat(index.findTop(MovieRanking.RATING, 2L, 10)).containsExactly(2, 3);
+        assertThat(index.findTop(MovieRanking.RECENT, null, 10)).containsExactly(3, 1);
+        assertThat(index.findTop(MovieRanking.RATING, null, 1)).containsExactly(2);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void matchesTheQueryThroughRandomWrites() {
+        Random random = new Random(42);
+        for (long id = 1; id <= 40; id++) {
+            this.write(id, List.of(1 + id % 3), random.nextInt(10), (long) random.nextInt(50));
+        }
+        index.warm(List.of(1L, 2L, 3L));
+
+        for (int i = 0; i < 2000; i++) {
+            long id = 1 + random.nextInt(60);
+            if (random.nextInt(5) == 0) {
+                table.remove(id);
+                index.remove(id);
+            } else {
+                List<Long> categoryIds = random.nextBoolean() ? List.of(1 + id % 3) : List.of(1L, 1 + random.nextLong(3));
+                this.write(id, categoryIds.stream().distinct().toList(), random.nextInt(10), random.nextInt(4) == 0 ? null : (long) random.nextInt(50));
+            }
+            for (MovieRanking ranking : MovieRanking.values()) {
+                for (Long categoryId : new Long[]{null, 1L, 2L, 3L}) {
+                    assertThat(index.findTop(ranking, categoryId, 3))
+                            .as("%s in category %s after %d writes", ranking, categoryId, i)
+                            .containsExactly(this.query(ranking, categoryId, 3).stream().mapToLong(RankedMovie::movieId).toArray());
+                }
+            }
+        }
+        assertThat(loads.get()).isLessThan(2000);
+    }
+
+    @Test
+    void loadsAListOnceWithoutBlockingWritesAndReplaysThem() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        MovieRankingIndex blocking = new MovieRankingIndex(3, (ranking, categoryId, limit) -> {
+            loads.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return List.of(new RankedMovie(1, 7.0), new RankedMovie(2, 5.0));
+        });
+
+        try (ExecutorService readers = Executors.newFixedThreadPool(3)) {
+            List<Future<long[]>> reads = IntStream.range(0, 3)
+                    .mapToObj(i -> readers.submit(() -> blocking.findTop(MovieRanking.RATING, 1L, 3)))
+                    .toList();
+            loadStarted.await();
+            // returns while the query is still running
+            blocking.put(3L, List.of(1L), Map.of(MovieRanking.RATING, 9.0));
+            releaseLoad.countDown();
+
+            for (Future<long[]> read : reads) {
+                assertThat(read.get()).containsExactly(3, 1, 2);
+            }
+        }
+        assertThat(blocking.findTop(MovieRanking.RATING, 1L, 3)).containsExactly(3, 1, 2);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void doesNotKeepAListWhoseCategoryWasRemovedWhileLoading() {
+        this.write(1, List.of(1L), 7.0, null);
+        racing = new MovieRankingIndex(3, (ranking, categoryId, limit) -> {
+            if (loads.incrementAndGet() == 1) {
+                racing.removeCategory(1L);
+            }
+            return this.query(ranking, categoryId, limit);
+        });
+
+        assertThat(racing.findTop(MovieRanking.RATING, 1L, 3)).containsExactly(1);
+        assertThat(racing.findTop(MovieRanking.RATING, 1L, 3)).containsExactly(1);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(long id, List<Long> categoryIds, double rating, Long releaseDay) {
+        Row row = new Row(categoryIds, rating, releaseDay);
+        table.put(id, row);
+        Map<MovieRanking, Double> scores = new HashMap<>();
+        scores.put(MovieRanking.RATING, rating);
+        if (releaseDay != null) {
+            scores.put(MovieRanking.RECENT, releaseDay.doubleValue());
+        }
+        index.put(id, categoryIds, scores);
+    }
+
+    private List<RankedMovie> query(MovieRanking ranking, Long categoryId, int limit) {
+        return table.entrySet()
+                .stream()
+                .filter(entry -> categoryId == null || entry.getValue().categoryIds().contains(categoryId))
+                .filter(entry -> ranking == MovieRanking.RATING || entry.getValue().releaseDay() != null)
+                .map(entry -> new RankedMovie(entry.getKey(), ranking == MovieRanking.RATING
+                        ? entry.getValue().rating()
+                        : entry.getValue().releaseDay()))
+                .sorted(RankedMovie.ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private record Row(List<Long> categoryIds, double rating, Long releaseDay) {
+    }
+}
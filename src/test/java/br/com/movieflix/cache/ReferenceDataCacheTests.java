@@ -0,0 +1,110 @@
+package br.com.movieflix.cache;
+
+import br.com.movieflix.entity.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReferenceDataCacheTests {
+
+    private final Map<Long, Category> table = new ConcurrentHashMap<>();
+    private final AtomicInteger loadAllCalls = new AtomicInteger();
+    private final AtomicInteger loadByIdCalls = new AtomicInteger();
+
+    private ReferenceDataCache<Category> cache;
+
+    @BeforeEach
+    void setUp() {
+        table.put(1L, Category.builder().id(1L).name("Action").build());
+        table.put(2L, Category.builder().id(2L).name("Drama").build());
+        cache = new ReferenceDataCache<>(Category::getId, Category::getName,
+                () -> {
+                    loadAllCalls.incrementAndGet();
+                    return new ArrayList<>(table.values());
+                },
+                ids -> {
+                    loadByIdCalls.incrementAndGet();
+                    return ids.stream().map(table::get).filter(Objects::nonNull).toList();
+                });
+    }
+
+    @Test
+    void loadsTheTableOnceAndServesReadsFromTheSnapshot() {
+        assertThat(cache.findAll()).extracting(Category::getName).containsExactly("Action", "Drama");
+        assertThat(cache.findById(2L)).map(Category::getName).contains("Drama");
+        assertThat(cache.findAllById(List.of(1L, 2L, 1L))).extracting(Category::getId).containsExactly(1L, 2L);
+
+        assertThat(loadAllCalls).hasValue(1);
+        assertThat(loadByIdCalls).hasValue(0);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void dropsUnknownIdsAfterReadingThrough() {
+        cache.findAll();
+
+        assertThat(cache.findAllById(List.of(1L, 99L))).extracting(Category::getId).containsExactly(1L);
+        assertThat(cache.findById(99L)).isEmpty();
+        assertThat(loadByIdCalls).hasValue(2);
+    }
+
+    @Test
+    void readsThroughRowsWrittenElsewhere() {
+        cache.findAll();
+        table.put(3L, Category.builder().id(3L).name("Comedy").build());
+
+        assertThat(cache.findById(3L)).map(Category::getName).contains("Comedy");
+        assertThat(cache.findAll()).extracting(Category::getId).containsExactly(1L, 2L, 3L);
+        assertThat(loadAllCalls).hasValue(1);
+    }
+
+    @Test
+    void patchesTheSnapshotOnWrites() {
+        cache.findAll();
+
+        cache.put(Category.builder().id(3L).name("Comedy").build());
+        cache.put(Category.builder().id(1L).name("Adventure").build());
+        cache.remove(2L);
+
+        assertThat(cache.findAll()).extracting(Category::getName).containsExactly("Adventure", "Comedy");
+        assertThat(loadAllCalls).hasValue(1);
+        assertThat(loadByIdCalls).hasValue(0);
+    }
+
+    @Test
+    void changesVersionOnlyWhenTheSnapshotChanges() {
+        String initial = cache.version();
+
+        assertThat(cache.version()).isEqualTo(initial);
+
+        cache.put(Category.builder().id(3L).name("Comedy").build());
+
+        assertThat(cache.version()).isNotEqualTo(initial);
+    }
+
+    @Test
+    void refreshPicksUpRowsChangedOutsideTheCache() {
+        cache.findAll();
+        String loaded = cache.version();
+
+        cache.refresh();
+        assertThat(cache.version()).isEqualTo(loaded);
+
+        table.remove(2L);
+        table.put(1L, Category.builder().id(1L).name("Adventure").build());
+        cache.refresh();
+
+        assertThat(cache.findAll()).extracting(Category::getName).containsExactly("Adventure");
+        assertThat(cache.version()).isNotEqualTo(loaded);
+        assertThat(loadAllCalls).hasValue(3);
+    }
+}
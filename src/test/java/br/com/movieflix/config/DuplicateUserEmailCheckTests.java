@@ -0,0 +1,61 @@
+package br.com.movieflix.config;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DuplicateUserEmailCheckTests {
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        this.flyway("6").migrate();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void stopsBeforeVersionSevenAndNamesTheDuplicateEmails() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (name, email, password) VALUES ('old', 'twice@movieflix', 'a'), ('new', 'twice@movieflix', 'b'), ('once', 'once@movieflix', 'c')");
+
+        assertThatThrownBy(() -> this.flyway("latest").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasStackTraceContaining("twice@movieflix (2 accounts)");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users", Integer.class)).isEqualTo(3);
+        assertThat(this.flyway("latest").info().current().getVersion().getVersion()).isEqualTo("6");
+    }
+
+    @Test
+    void migratesWhenEveryEmailIsUnique() {
+        new JdbcTemplate(dataSource).update("INSERT INTO users (name, email, password) VALUES ('one', 'one@movieflix', 'a'), ('two', 'two@movieflix', 'b')");
+
+        assertThat(this.flyway("latest").migrate().success).isTrue();
+    }
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .callbacks(new DuplicateUserEmailCheck())
+                .load();
+    }
+}
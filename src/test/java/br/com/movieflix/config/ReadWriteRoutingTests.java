@@ -0,0 +1,86 @@
+package br.com.movieflix.config;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.repository.CategoryRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReadWriteRoutingTests {
+
+    private static EmbeddedPostgres primary;
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) throws IOException {
+        primary = EmbeddedPostgres.builder().start();
+        replica = EmbeddedPostgres.builder().start();
+        Flyway.configure().dataSource(replica.getPostgresDatabase()).load().migrate();
+
+        registry.add("spring.datasource.url", () -> primary.getJdbcUrl("postgres", "postgres"));
+        registry.add("movieflix.datasource.replica.url", () -> replica.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        primary.close();
+        replica.close();
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesGoToPrimaryAndReadOnlyReadsToReplica() {
+        categoryRepository.save(Category.builder().name("Primary only").build());
+
+        List<Category> categories = categoryRepository.findAll();
+
+        assertThat(categories).extracting(Category::getName).doesNotContain("Primary only");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        Category saved = categoryRepository.save(Category.builder().name("Written by user").build());
+        authenticate(42L);
+        readYourWritesTracker.recordWrite(42L);
+
+        assertThat(categoryRepository.findById(saved.getId())).isPresent();
+    }
+
+    @Test
+    void otherUsersStillReadFromReplica() {
+        Category saved = categoryRepository.save(Category.builder().name("Written by someone else").build());
+        readYourWritesTracker.recordWrite(42L);
+        authenticate(7L);
+
+        assertThat(categoryRepository.findById(saved.getId())).isEmpty();
+    }
+
+    private static void authenticate(Long userId) {
+        JWTUserData userData = JWTUserData.builder().id(userId).name("User " + userId).email(userId + "@movieflix.com").build();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userData, null, List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.movieflix.controller;
+
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.repository.MovieRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "movieflix.movie.response-cache.gzip-min-size=1")
+@AutoConfigureMockMvc
+@WithMockUser
+class MovieControllerTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    private Movie movie;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Tagged")
+                .updatedAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    void givesEachContentCodingItsOwnETag() throws Exception {
+        String identity = mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzip = mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(identity).startsWith("\"").doesNotEndWith("-gz\"");
+        assertThat(gzip).isEqualTo(identity.replaceFirst("\"$", "-gz\""));
+    }
+
+    @Test
+    void answersNotModifiedForEitherVariantAndItsWeakForm() throws Exception {
+        String identity = mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String gzip = identity.replaceFirst("\"$", "-gz\"");
+
+        mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()).header(HttpHeaders.IF_NONE_MATCH, identity))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, identity));
+        mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + gzip))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzip));
+        mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/" + identity))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/movieflix/movie/{id}", movie.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\""))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.movieflix.controller;
+
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.repository.MovieReactiveRepository;
+import br.com.movieflix.repository.MovieRepository;
+import com.jayway.jsonpath.JsonPath;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "movieflix.reactive.pool-size=1",
+        "movieflix.reactive.acquire-timeout=200ms"
+})
+@AutoConfigureMockMvc
+@WithMockUser
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MovieReactiveControllerTests {
+
+    private static final int MOVIES = 20;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieReactiveRepository movieReactiveRepository;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        movieRepository.saveAll(IntStream.range(0, MOVIES)
+                .mapToObj(i -> Movie.builder()
+                        .title("Movie " + i)
+                        .categories(new ArrayList<>())
+                        .streaming(new ArrayList<>())
+                        .build())
+                .toList());
+    }
+
+    @Test
+    void pagesThroughTheCatalogByCursor() throws Exception {
+        MvcResult firstPage = mockMvc.perform(asyncDispatch(this.dispatch(get("/movieflix/reactive/movie").param("size", "15"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(15))
+                .andReturn();
+        String next = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.next");
+
+        mockMvc.perform(asyncDispatch(this.dispatch(get("/movieflix/reactive/movie").param("size", "15").param("cursor", next))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(MOVIES - 15))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void streamsEveryMovieAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/movieflix/reactive/movie/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(Duration.ofSeconds(10).toMillis());
+
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(MOVIES).first().asString().contains("\"title\":\"Movie 0\"");
+    }
+
+    @Test
+    void answersNotFoundForAnUnknownMovie() throws Exception {
+        mockMvc.perform(asyncDispatch(this.dispatch(get("/movieflix/reactive/movie/{id}", -1L))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void answersServiceUnavailableWhenNoConnectionFreesUp() throws Exception {
+        Disposable slowStream = movieReactiveRepository.findAll()
+                .delayElements(Duration.ofMillis(100))
+                .subscribe();
+        try {
+            Thread.sleep(200);
+            mockMvc.perform(asyncDispatch(this.dispatch(get("/movieflix/reactive/movie/{id}", 1L))))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            slowStream.dispose();
+        }
+    }
+
+    private MvcResult dispatch(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(Duration.ofSeconds(10).toMillis());
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.movieflix.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    String login(String name, String email, String password) throws IOException, InterruptedException {
+        String credentials = objectMapper.writeValueAsString(Map.of("name", name, "email", email, "password", password));
+        this.post("/movieflix/auth/register", credentials);
+        HttpResponse<String> response = this.post("/movieflix/auth/login", credentials);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    Map<String, EndpointStats> run(List<String> tokens, List<Endpoint> endpoints, Duration warmup, Duration duration, long seed)
+            throws InterruptedException {
+        long warmupEnds = System.nanoTime() + warmup.toNanos();
+        long runEnds = warmupEnds + duration.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(tokens.size());
+        try {
+            List<Future<Map<String, Samples>>> results = new ArrayList<>();
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                Random random = new Random(seed + i);
+                results.add(clients.submit(() -> this.client(token, endpoints, random, warmupEnds, runEnds)));
+            }
+
+            Map<String, Samples> merged = new TreeMap<>();
+            for (Future<Map<String, Samples>> result : results) {
+                result.get().forEach((name, samples) -> merged.computeIfAbsent(name, key -> new Samples()).addAll(samples));
+            }
+            Map<String, EndpointStats> stats = new TreeMap<>();
+            merged.forEach((name, samples) -> stats.put(name, samples.stats(duration)));
+            return stats;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Map<String, Samples> client(String token, List<Endpoint> endpoints, Random random, long warmupEnds, long runEnds)
+            throws InterruptedException {
+        int totalWeight = endpoints.stream().mapToInt(Endpoint::weight).sum();
+        Map<String, Samples> samples = new HashMap<>();
+        while (System.nanoTime() < runEnds) {
+            Endpoint endpoint = this.pick(endpoints, random.nextInt(totalWeight));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path().apply(random)))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                failed = status >= 400;
+            } catch (IOException e) {
+                failed = true;
+            }
+            long end = System.nanoTime();
+
+            if (start >= warmupEnds) {
+                samples.computeIfAbsent(endpoint.name(), key -> new Samples()).add(end - start, failed);
+            }
+        }
+        return samples;
+    }
+
+    private Endpoint pick(List<Endpoint> endpoints, int draw) {
+        for (Endpoint endpoint : endpoints) {
+            draw -= endpoint.weight();
+            if (draw < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("No endpoint for draw");
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    static String report(Map<String, EndpointStats> stats) {
+        StringBuilder report = new StringBuilder(String.format("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        stats.forEach((name, endpoint) -> report.append(String.format("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, endpoint.requests(), endpoint.errors(), endpoint.throughput(),
+                endpoint.p50(), endpoint.p99(), endpoint.p999(), endpoint.max())));
+        return report.toString();
+    }
+
+    record Endpoint(String name, int weight, Function<Random, String> path) {
+    }
+
+    record EndpointStats(long requests, long errors, double throughput, double p50, double p99, double p999, double max) {
+    }
+
+    private static class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long latency, boolean failed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latency;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                this.add(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        EndpointStats stats(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(size, errors, size / (duration.toMillis() / 1000.0),
+                    millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999), millis(sorted, 1.0));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.movieflix.loadtest;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.repository.CategoryRepository;
+import br.com.movieflix.repository.MovieBulkRepository;
+import br.com.movieflix.repository.StreamingRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+class LoadTestDataGenerator {
+
+    static final List<String> WORDS = List.of(
+            "dark", "night", "love", "war", "star", "city", "dream", "storm", "last", "secret",
+            "lost", "king", "ocean", "fire", "shadow", "journey", "heart", "ghost", "silent", "wild",
+            "golden", "empire", "river", "winter", "summer", "machine", "garden", "island", "mountain", "legend");
+
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDate FIRST_RELEASE = LocalDate.of(1950, 1, 1);
+    private static final int RELEASE_DAYS = 75 * 365;
+
+    private final CategoryRepository categoryRepository;
+    private final StreamingRepository streamingRepository;
+    private final MovieBulkRepository movieBulkRepository;
+
+    Dataset generate(long seed, int movies, int categories, int streamings) {
+        Random random = new Random(seed);
+        List<Category> savedCategories = categoryRepository.saveAll(IntStream.range(0, categories)
+                .mapToObj(i -> Category.builder().name("Category " + i).build())
+                .toList());
+        List<Streaming> savedStreamings = streamingRepository.saveAll(IntStream.range(0, streamings)
+                .mapToObj(i -> Streaming.builder().name("Streaming " + i).build())
+                .toList());
+
+        long[] movieIds = new long[movies];
+        List<Movie> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < movies; i++) {
+            batch.add(this.movie(random, savedCategories, savedStreamings));
+            if (batch.size() == BATCH_SIZE || i == movies - 1) {
+                movieBulkRepository.insertAll(batch);
+                int offset = i + 1 - batch.size();
+                for (int j = 0; j < batch.size(); j++) {
+                    movieIds[offset + j] = batch.get(j).getId();
+                }
+                batch.clear();
+            }
+        }
+
+        return new Dataset(movieIds,
+                savedCategories.stream().mapToLong(Category::getId).toArray(),
+                savedStreamings.stream().mapToLong(Streaming::getId).toArray());
+    }
+
+    private Movie movie(Random random, List<Category> categories, List<Streaming> streamings) {
+        return Movie.builder()
+                .title(this.words(random, 2 + random.nextInt(3)))
+                .description(this.words(random, 10 + random.nextInt(20)))
+                .releaseDate(FIRST_RELEASE.plusDays(random.nextInt(RELEASE_DAYS)))
+                .rating(random.nextInt(101) / 10.0)
+                .categories(this.pick(random, categories, 1 + random.nextInt(4), true))
+                .streaming(this.pick(random, streamings, 1 + random.nextInt(3), false))
+                .build();
+    }
+
+    // skewed picks square the uniform draw, so low-index categories end up with
+    // far more movies than the tail, like genres in a real catalog
+    private <T> List<T> pick(Random random, List<T> values, int count, boolean skewed) {
+        Set<T> picked = new LinkedHashSet<>();
+        while (picked.size() < Math.min(count, values.size())) {
+            double draw = random.nextDouble();
+            picked.add(values.get((int) (values.size() * (skewed ? draw * draw : draw))));
+        }
+        return new ArrayList<>(picked);
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS.get(random.nextInt(WORDS.size())));
+        }
+        return text.toString();
+    }
+
+    record Dataset(long[] movieIds, long[] categoryIds, long[] streamingIds) {
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.movieflix.loadtest;
+
+import br.com.movieflix.repository.CategoryRepository;
+import br.com.movieflix.repository.MovieBulkRepository;
+import br.com.movieflix.repository.StreamingRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn -Pload-test test
+// Tunables (system properties): loadtest.movies, loadtest.categories, loadtest.streamings,
+// loadtest.clients, loadtest.warmup-seconds, loadtest.duration-seconds, loadtest.seed.
+// Set loadtest.jdbc-url (plus loadtest.username/loadtest.password) to run against an
+// existing empty database instead of the embedded Postgres.
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.show-sql=false")
+class MovieflixLoadTests {
+
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final int MOVIES = Integer.getInteger("loadtest.movies", 20000);
+    private static final int CATEGORIES = Integer.getInteger("loadtest.categories", 40);
+    private static final int STREAMINGS = Integer.getInteger("loadtest.streamings", 12);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 30));
+
+    private static EmbeddedPostgres postgres;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StreamingRepository streamingRepository;
+
+    @Autowired
+    private MovieBulkRepository movieBulkRepository;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        String jdbcUrl = System.getProperty("loadtest.jdbc-url");
+        if (jdbcUrl == null) {
+            postgres = EmbeddedPostgres.builder().start();
+            jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+        }
+        String url = jdbcUrl;
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.username", () -> System.getProperty("loadtest.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("loadtest.password", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void reportsLatencyPercentilesPerEndpoint() throws Exception {
+        LoadTestDataGenerator.Dataset dataset = new LoadTestDataGenerator(categoryRepository, streamingRepository, movieBulkRepository)
+                .generate(SEED, MOVIES, CATEGORIES, STREAMINGS);
+
+        LoadDriver driver = new LoadDriver("http://localhost:" + port);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            tokens.add(driver.login("Load " + i, "load-" + SEED + "-" + i + "@movieflix.com", "password"));
+        }
+
+        Map<String, LoadDriver.EndpointStats> stats = driver.run(tokens, endpoints(dataset), WARMUP, DURATION, SEED);
+        System.out.printf("%nLoad test: %d movies, %d categories, %d streamings, %d clients, %ds%n%s%n",
+                MOVIES, CATEGORIES, STREAMINGS, CLIENTS, DURATION.toSeconds(), LoadDriver.report(stats));
+
+        assertThat(stats).isNotEmpty();
+        assertThat(stats.values()).allSatisfy(endpoint -> assertThat(endpoint.errors()).isZero());
+    }
+
+    private static List<LoadDriver.Endpoint> endpoints(LoadTestDataGenerator.Dataset dataset) {
+        return List.of(
+                new LoadDriver.Endpoint("movie.page", 15, random -> "/movieflix/movie?size=50"),
+                new LoadDriver.Endpoint("movie.byId", 30, random -> "/movieflix/movie/" + any(random, dataset.movieIds())),
+                new LoadDriver.Endpoint("movie.filter", 15, random -> "/movieflix/movie/search?category=" + any(random, dataset.categoryIds())),
+                new LoadDriver.Endpoint("movie.search", 10, random -> "/movieflix/movie/search?q="
+                        + LoadTestDataGenerator.WORDS.get(random.nextInt(LoadTestDataGenerator.WORDS.size()))),
+                new LoadDriver.Endpoint("category.list", 10, random -> "/movieflix/category"),
+                new LoadDriver.Endpoint("category.byId", 5, random -> "/movieflix/category/" + any(random, dataset.categoryIds())),
+                new LoadDriver.Endpoint("streaming.list", 10, random -> "/movieflix/streaming"),
+                new LoadDriver.Endpoint("streaming.byId", 5, random -> "/movieflix/streaming/" + any(random, dataset.streamingIds())));
+    }
+
+    private static long any(Random random, long[] ids) {
+        return ids[random.nextInt(ids.length)];
+    }
+}
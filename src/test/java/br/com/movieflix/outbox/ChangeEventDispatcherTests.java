@@ -0,0 +1,153 @@
+package br.com.movieflix.outbox;
+
+import br.com.movieflix.controller.response.ChangeEventResponse;
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.ChangeAggregate;
+import br.com.movieflix.entity.ChangeEvent;
+import br.com.movieflix.entity.ChangeOperation;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.mapper.ChangeEventMapper;
+import br.com.movieflix.repository.ChangeEventRepository;
+import br.com.movieflix.service.CategoryService;
+import br.com.movieflix.service.ChangeEventService;
+import br.com.movieflix.service.MovieService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class ChangeEventDispatcherTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ChangeEventDispatcher dispatcher;
+
+    @Autowired
+    private ChangeEventService changeEventService;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // dispatching numbers every pending event in the database, so it has to be a database of its own
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void publishesCommittedChangesInOrderToTheFeed() {
+        long since = this.drain();
+        Category category = categoryService.saveCategory(Category.builder().name("Outbox").build());
+        Movie movie = movieService.save(movie("Created", category));
+        movieService.update(movie.getId(), movie("Updated", category));
+        movieService.deleteById(movie.getId());
+        categoryService.deleteCategory(category.getId());
+
+        this.drain();
+
+        List<ChangeEventResponse> changes = changeEventService.findSince(since, 100)
+                .stream()
+                .map(ChangeEventMapper::toChangeEventResponse)
+                .filter(change -> change.aggregateId().equals(change.aggregateType() == ChangeAggregate.MOVIE ? movie.getId() : category.getId()))
+                .toList();
+        assertThat(changes).extracting(ChangeEventResponse::position).isSorted().doesNotHaveDuplicates();
+        assertThat(changes).extracting(ChangeEventResponse::aggregateType, ChangeEventResponse::aggregateId, ChangeEventResponse::operation)
+                .containsExactly(
+                        tuple(ChangeAggregate.CATEGORY, category.getId(), ChangeOperation.CREATED),
+                        tuple(ChangeAggregate.MOVIE, movie.getId(), ChangeOperation.CREATED),
+                        tuple(ChangeAggregate.MOVIE, movie.getId(), ChangeOperation.UPDATED),
+                        tuple(ChangeAggregate.MOVIE, movie.getId(), ChangeOperation.DELETED),
+                        tuple(ChangeAggregate.CATEGORY, category.getId(), ChangeOperation.DELETED));
+    }
+
+    @Test
+    void numbersTheChangesOfOneAggregateInCommitOrder() throws Exception {
+        Category category = categoryService.saveCategory(Category.builder().name("Versions").build());
+        Movie movie = movieService.save(movie("Created", category));
+
+        try (ExecutorService writers = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> updates = IntStream.range(0, 20)
+                    .mapToObj(i -> writers.submit(() -> movieService.update(movie.getId(), movie("Updated " + i, category))))
+                    .collect(Collectors.toList());
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        }
+        movieService.deleteById(movie.getId());
+
+        List<ChangeEvent> changes = changeEventRepository.findAll().stream()
+                .filter(change -> change.getAggregateType() == ChangeAggregate.MOVIE && change.getAggregateId().equals(movie.getId()))
+                .sorted(Comparator.comparing(ChangeEvent::getAggregateVersion))
+                .toList();
+        assertThat(changes).extracting(ChangeEvent::getAggregateVersion)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 22).boxed().toList());
+        assertThat(changes.get(0).getOperation()).isEqualTo(ChangeOperation.CREATED);
+        assertThat(changes.get(21).getOperation()).isEqualTo(ChangeOperation.DELETED);
+    }
+
+    @Test
+    void dropsTheChangesOfARolledBackTransaction() {
+        long events = changeEventRepository.count();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            categoryService.saveCategory(Category.builder().name("Rolled back").build());
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(changeEventRepository.count()).isEqualTo(events);
+    }
+
+    private long drain() {
+        while (dispatcher.dispatch() > 0) {
+            // keep going until nothing is pending
+        }
+        return changeEventRepository.findLastPosition();
+    }
+
+    private static Movie movie(String title, Category category) {
+        return Movie.builder()
+                .title(title)
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .rating(8.0)
+                .categories(new ArrayList<>(List.of(category)))
+                .streaming(new ArrayList<>())
+                .build();
+    }
+}
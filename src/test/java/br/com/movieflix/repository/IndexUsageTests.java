@@ -0,0 +1,72 @@
+package br.com.movieflix.repository;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class IndexUsageTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a database of its own with a known dataset, so the plans do not depend on what a developer has loaded
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void seedAndDisableSequentialScans() {
+        jdbcTemplate.update("INSERT INTO category (id, name) SELECT i, 'Category ' || i FROM generate_series(1, 20) i");
+        jdbcTemplate.update("INSERT INTO streaming (id, name) SELECT i, 'Streaming ' || i FROM generate_series(1, 5) i");
+        jdbcTemplate.update("""
+                INSERT INTO movie (id, title, release_date, rating)
+                SELECT i, 'Movie ' || i, DATE '2000-01-01' + i % 9000, (i % 101) / 10.0 FROM generate_series(1, 5000) i
+                """);
+        jdbcTemplate.update("INSERT INTO movie_category (movie_id, category_id) SELECT i, 1 + i % 20 FROM generate_series(1, 5000) i");
+        jdbcTemplate.update("INSERT INTO movie_streaming (movie_id, streaming_id) SELECT i, 1 + i % 5 FROM generate_series(1, 5000) i");
+        jdbcTemplate.update("INSERT INTO users (name, email, password) SELECT 'User ' || i, 'user' || i || '@movieflix.com', 'secret' FROM generate_series(1, 1000) i");
+        jdbcTemplate.execute("ANALYZE");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT m.id FROM movie m JOIN movie_category mc ON m.id = mc.movie_id WHERE mc.category_id = 1",
+            "SELECT mc.category_id FROM movie_category mc WHERE mc.movie_id = ANY ('{1,2,3}')",
+            "SELECT ms.movie_id FROM movie_streaming ms WHERE ms.streaming_id = 1",
+            "SELECT ms.streaming_id FROM movie_streaming ms WHERE ms.movie_id = ANY ('{1,2,3}')",
+            "SELECT u.id FROM users u WHERE u.email = 'user@movieflix.com'",
+            "SELECT m.id FROM movie m ORDER BY m.rating DESC, m.id LIMIT 10",
+            "SELECT m.id FROM movie m ORDER BY m.release_date DESC, m.id LIMIT 10"
+    })
+    void hotQueriesUseIndexScans(String query) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+
+        assertThat(plan).anyMatch(line -> line.contains("Index"));
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan"));
+    }
+}
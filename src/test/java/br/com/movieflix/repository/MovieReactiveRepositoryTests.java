@@ -0,0 +1,124 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// a pool smaller than the number of concurrent streams, with an acquire timeout longer than the
+// test waits, so a stream that needed a second connection would hang instead of finishing
+@SpringBootTest(properties = {
+        "movieflix.reactive.pool-size=2",
+        "movieflix.reactive.acquire-timeout=1m"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MovieReactiveRepositoryTests {
+
+    private static final int MOVIES = 1200;
+    private static final int STREAMS = 6;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieReactiveRepository movieReactiveRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StreamingRepository streamingRepository;
+
+    private Category drama;
+
+    private Movie bare;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Category> categories = categoryRepository.saveAll(List.of(
+                Category.builder().name("Action").build(),
+                Category.builder().name("Drama").build()));
+        Streaming streaming = streamingRepository.save(Streaming.builder().name("Netflix").build());
+        drama = categories.get(1);
+
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < MOVIES; i++) {
+            movies.add(Movie.builder()
+                    .title("Movie " + i)
+                    .rating(i % 10)
+                    .categories(new ArrayList<>(i % 2 == 0 ? categories : List.of(categories.get(0))))
+                    .streaming(new ArrayList<>(List.of(streaming)))
+                    .build());
+        }
+        movieRepository.saveAll(movies);
+        bare = movieRepository.save(Movie.builder()
+                .title("Bare")
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build());
+    }
+
+    @Test
+    void concurrentStreamsFinishOnAPoolSmallerThanTheirNumber() {
+        List<Long> counts = Flux.range(0, STREAMS)
+                .flatMap(stream -> movieReactiveRepository.findAll().count(), STREAMS)
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(counts).hasSize(STREAMS).containsOnly(MOVIES + 1L);
+    }
+
+    @Test
+    void readsAssociationsFromTheSameStatement() {
+        Movie first = movieReactiveRepository.findAll().blockFirst(Duration.ofSeconds(10));
+
+        assertThat(first.getCategories()).extracting(Category::getName).containsExactly("Action", "Drama");
+        assertThat(first.getStreaming()).extracting(Streaming::getName).containsExactly("Netflix");
+
+        Movie found = movieReactiveRepository.findById(bare.getId()).block(Duration.ofSeconds(10));
+
+        assertThat(found.getTitle()).isEqualTo("Bare");
+        assertThat(found.getCategories()).isEmpty();
+        assertThat(found.getStreaming()).isEmpty();
+        assertThat(movieReactiveRepository.findById(-1L).blockOptional(Duration.ofSeconds(10))).isEmpty();
+    }
+
+    @Test
+    void pagesByIdWithinACategory() {
+        List<Movie> firstPage = movieReactiveRepository.findByCategory(drama.getId(), 0, 3).collectList().block(Duration.ofSeconds(10));
+        List<Movie> secondPage = movieReactiveRepository.findByCategory(drama.getId(), firstPage.get(2).getId(), 3).collectList().block(Duration.ofSeconds(10));
+
+        assertThat(firstPage).extracting(Movie::getTitle).containsExactly("Movie 0", "Movie 2", "Movie 4");
+        assertThat(secondPage).extracting(Movie::getTitle).containsExactly("Movie 6", "Movie 8", "Movie 10");
+        assertThat(secondPage).allSatisfy(movie -> assertThat(movie.getCategories()).extracting(Category::getId).contains(drama.getId()));
+    }
+}
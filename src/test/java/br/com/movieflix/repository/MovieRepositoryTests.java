@@ -0,0 +1,334 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.Streaming;
+import br.com.movieflix.mapper.MovieMapper;
+import br.com.movieflix.service.MovieService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class MovieRepositoryTests {
+
+    private static final int MOVIES = 1000;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StreamingRepository streamingRepository;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCountingDataSource statementCounter;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    // a database of its own, so the queries below see exactly the seeded movies
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = categoryRepository.saveAll(List.of(
+                Category.builder().name("Action").build(),
+                Category.builder().name("Drama").build(),
+                Category.builder().name("Comedy").build()));
+        List<Streaming> streamings = streamingRepository.saveAll(List.of(
+                Streaming.builder().name("Netflix").build(),
+                Streaming.builder().name("Prime Video").build()));
+        category = categories.get(0);
+
+        List<Movie> movies = new ArrayList<>();
+        for (int i = 0; i < MOVIES; i++) {
+            movies.add(Movie.builder()
+                    .title("Movie " + i)
+                    .description("Description " + i)
+                    .releaseDate(LocalDate.of(2000, 1, 1).plusDays(i))
+                    .rating(i % 10)
+                    .categories(new ArrayList<>(categories))
+                    .streaming(new ArrayList<>(streamings))
+                    .build());
+        }
+        movieRepository.saveAll(movies);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statementCounter.reset();
+    }
+
+    @Test
+    void findAllLoadsAssociationsInBatches() {
+        List<Movie> movies = movieRepository.findAll();
+        movies.forEach(MovieMapper::toMovieResponse);
+
+        assertThat(movies).hasSize(MOVIES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements(MOVIES));
+    }
+
+    @Test
+    void filterLoadsAssociationsInBatches() {
+        List<Movie> movies = movieRepository.findAll(MovieSpecifications.matching(MovieFilter.builder()
+                .categories(List.of(category.getId()))
+                .build()));
+        movies.forEach(MovieMapper::toMovieResponse);
+
+        assertThat(movies).hasSize(MOVIES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements(MOVIES));
+    }
+
+    @Test
+    void streamAllLoadsAssociationsInBatches() {
+        List<Long> ids = new ArrayList<>();
+        movieService.streamAll(movie -> ids.add(MovieMapper.toMovieResponse(movie).id()));
+
+        assertThat(ids).hasSize(MOVIES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expectedStatements(MOVIES));
+    }
+
+    @Test
+    void exportAllStreamsAssociationIdsInOneQuery() {
+        List<MovieExportRow> rows = new ArrayList<>();
+        movieService.exportAll(rows::add);
+
+        assertThat(rows).hasSize(MOVIES).allSatisfy(row -> {
+            assertThat(row.categories()).hasSize(3);
+            assertThat(row.streamings()).hasSize(2);
+        });
+        assertThat(statementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void projectionReadsOnlyTheRequestedFields() {
+        List<Movie> titles = movieService.findPage(EnumSet.of(MovieField.ID, MovieField.TITLE), 0, 10);
+
+        assertThat(titles).hasSize(11).allSatisfy(movie -> {
+            assertThat(movie.getTitle()).isNotNull();
+            assertThat(movie.getDescription()).isNull();
+            assertThat(movie.getCategories()).isNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<Movie> withCategories = movieService.filter(EnumSet.of(MovieField.CATEGORIES),
+                MovieFilter.builder().categories(List.of(category.getId())).minRating(0.0).build(), 0, 10, Sort.by("id"));
+
+        assertThat(withCategories).hasSize(10).allSatisfy(movie -> {
+            assertThat(movie.getTitle()).isNull();
+            assertThat(movie.getCategories()).extracting(Category::getName).containsExactly("Action", "Drama", "Comedy");
+            assertThat(movie.getStreaming()).isNull();
+        });
+    }
+
+    @Test
+    void filterMatchesAnyOrAllCategories() {
+        List<Category> categories = categoryRepository.saveAll(List.of(
+                Category.builder().name("Horror").build(),
+                Category.builder().name("Thriller").build()));
+        Long horror = categories.get(0).getId();
+        Long thriller = categories.get(1).getId();
+        Movie horrorOnly = this.saveMovie("Horror only", 5, null, List.of(categories.get(0)), List.of());
+        Movie both = this.saveMovie("Both", 5, null, categories, List.of());
+        Movie thrillerOnly = this.saveMovie("Thriller only", 5, null, List.of(categories.get(1)), List.of());
+
+        assertThat(this.filteredIds(MovieFilter.builder().categories(List.of(horror, thriller)).build()))
+                .containsExactly(horrorOnly.getId(), both.getId(), thrillerOnly.getId());
+        assertThat(this.filteredIds(MovieFilter.builder().categories(List.of(horror, thriller)).allCategories(true).build()))
+                .containsExactly(both.getId());
+        assertThat(this.filteredIds(MovieFilter.builder().categories(List.of(horror, horror)).allCategories(true).build()))
+                .containsExactly(horrorOnly.getId(), both.getId());
+    }
+
+    @Test
+    void filterCombinesStreamingRatingAndReleaseWindow() {
+        List<Streaming> streamings = streamingRepository.saveAll(List.of(
+                Streaming.builder().name("Max").build(),
+                Streaming.builder().name("Disney+").build()));
+        Movie early = this.saveMovie("Early", 9, LocalDate.of(2021, 1, 1), List.of(), List.of(streamings.get(0)));
+        Movie middle = this.saveMovie("Middle", 5, LocalDate.of(2022, 6, 1), List.of(), streamings);
+        Movie late = this.saveMovie("Late", 7, LocalDate.of(2023, 3, 1), List.of(), List.of(streamings.get(1)));
+        List<Long> streamingIds = streamings.stream().map(Streaming::getId).toList();
+
+        assertThat(this.filteredIds(MovieFilter.builder().streamings(List.of(streamingIds.get(0))).build()))
+                .containsExactly(early.getId(), middle.getId());
+        assertThat(this.filteredIds(MovieFilter.builder().streamings(streamingIds).minRating(7.0).build()))
+                .containsExactly(early.getId(), late.getId());
+        assertThat(this.filteredIds(MovieFilter.builder().streamings(streamingIds)
+                .releasedFrom(LocalDate.of(2022, 6, 1)).releasedTo(LocalDate.of(2023, 3, 1)).build()))
+                .containsExactly(middle.getId(), late.getId());
+        assertThat(this.filteredIds(MovieFilter.builder()
+                .releasedFrom(LocalDate.of(2021, 1, 2)).releasedTo(LocalDate.of(2022, 12, 31)).build()))
+                .containsExactly(middle.getId());
+    }
+
+    @Test
+    void searchByTextRanksTitleMatchesFirstAndPages() {
+        Movie titleAndDescription = this.saveMovie("Space", "Space and more space");
+        Movie titleOnly = this.saveMovie("Space", "Nothing else");
+        Movie sameRank = this.saveMovie("Space", "Nothing else");
+        Movie descriptionOnly = this.saveMovie("Ocean", "A trip to space");
+
+        assertThat(movieRepository.searchByText("space", 10, 0)).extracting(Movie::getId)
+                .containsExactly(titleAndDescription.getId(), titleOnly.getId(), sameRank.getId(), descriptionOnly.getId());
+        assertThat(movieRepository.searchIdsByText("space", 2, 1))
+                .containsExactly(titleOnly.getId(), sameRank.getId());
+        assertThat(movieRepository.searchIdsByText("space", 10, 4)).isEmpty();
+    }
+
+    @Test
+    void searchByTextAcceptsWebSearchSyntax() {
+        Movie titleOnly = this.saveMovie("Space", "Nothing else");
+        Movie descriptionOnly = this.saveMovie("Ocean", "A trip to space");
+
+        assertThat(movieRepository.searchIdsByText("space -ocean", 10, 0)).containsExactly(titleOnly.getId());
+        assertThat(movieRepository.searchIdsByText("\"trip to space\"", 10, 0)).containsExactly(descriptionOnly.getId());
+        assertThat(movieRepository.searchIdsByText("space or ocean", 10, 0)).containsExactlyInAnyOrder(titleOnly.getId(), descriptionOnly.getId());
+    }
+
+    private List<Long> filteredIds(MovieFilter filter) {
+        return movieRepository.findAll(MovieSpecifications.matching(filter), Sort.by("id"))
+                .stream()
+                .map(Movie::getId)
+                .toList();
+    }
+
+    private Movie saveMovie(String title, String description) {
+        return this.saveMovie(Movie.builder()
+                .title(title)
+                .description(description)
+                .rating(5)
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build());
+    }
+
+    private Movie saveMovie(String title, double rating, LocalDate releaseDate, List<Category> categories, List<Streaming> streamings) {
+        return this.saveMovie(Movie.builder()
+                .title(title)
+                .rating(rating)
+                .releaseDate(releaseDate)
+                .categories(new ArrayList<>(categories))
+                .streaming(new ArrayList<>(streamings))
+                .build());
+    }
+
+    private Movie saveMovie(Movie movie) {
+        Movie saved = movieRepository.saveAndFlush(movie);
+        entityManager.clear();
+        return saved;
+    }
+
+    private long expectedStatements(int movies) {
+        long batches = (movies + 499) / 500;
+        return 1 + 2 * batches;
+    }
+
+    // counts every statement prepared on the application's DataSource, including JdbcTemplate ones
+    // that Hibernate statistics never see
+    @TestConfiguration
+    static class StatementCountingConfig {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) ? new StatementCountingDataSource((DataSource) bean) : bean;
+                }
+            };
+        }
+    }
+
+    static class StatementCountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger statements = new AtomicInteger();
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return this.counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return this.counting(super.getConnection(username, password));
+        }
+
+        int count() {
+            return statements.get();
+        }
+
+        void reset() {
+            statements.set(0);
+        }
+
+        private Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare") || method.getName().equals("createStatement")) {
+                            statements.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.movieflix.repository;
+
+import br.com.movieflix.entity.Category;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.service.MovieService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Category category;
+
+    // a database of its own, so the writes below never reach the shared development database
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Cached").build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.findAll(MovieSpecifications.matching(filter())).forEach(movie -> movieRepository.deleteById(movie.getId()));
+        categoryRepository.deleteById(category.getId());
+    }
+
+    @Test
+    void findByIdIsServedFromCacheAndRefreshedOnUpdate() {
+        Movie saved = movieService.save(movie("Original"));
+        movieService.findById(saved.getId());
+
+        statistics.clear();
+        Movie cached = movieService.findById(saved.getId()).orElseThrow();
+
+        assertThat(cached.getTitle()).isEqualTo("Original");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        movieService.update(saved.getId(), movie("Updated"));
+        assertThat(movieService.findById(saved.getId())).get().extracting(Movie::getTitle).isEqualTo("Updated");
+
+        movieService.deleteById(saved.getId());
+        assertThat(movieService.findById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    void filterQueryIsCachedAndInvalidatedByWrites() {
+        movieService.save(movie("First"));
+        assertThat(filteredTitles()).containsExactly("First");
+
+        statistics.clear();
+        assertThat(filteredTitles()).containsExactly("First");
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        movieService.save(movie("Second"));
+        assertThat(filteredTitles()).containsExactly("First", "Second");
+
+        movieService.saveAll(new ArrayList<>(List.of(movie("Bulk"))));
+        assertThat(filteredTitles()).containsExactly("First", "Second", "Bulk");
+    }
+
+    // the rating keeps the filter off the category index, so it goes through the cached query
+    private List<String> filteredTitles() {
+        MovieFilter filter = MovieFilter.builder().categories(List.of(category.getId())).minRating(0.0).build();
+        return movieService.filter(filter, 0, 50, Sort.by("id"))
+                .stream()
+                .map(Movie::getTitle)
+                .toList();
+    }
+
+    private MovieFilter filter() {
+        return MovieFilter.builder().categories(List.of(category.getId())).build();
+    }
+
+    private Movie movie(String title) {
+        return Movie.builder()
+                .title(title)
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .rating(7)
+                .categories(new ArrayList<>(List.of(Category.builder().id(category.getId()).build())))
+                .streaming(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.repository.MovieExportRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class MovieExportServiceTests {
+
+    private final MovieService movieService = mock(MovieService.class);
+    private final MovieExportService exportService = new MovieExportService(movieService, new ObjectMapper().findAndRegisterModules());
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<MovieExportRow> consumer = invocation.getArgument(0);
+            consumer.accept(new MovieExportRow(1L, "Inception", "Dreams, within dreams", LocalDate.of(2010, 7, 16), 8.8, List.of(1L, 2L), List.of(3L)));
+            return null;
+        }).when(movieService).exportAll(any());
+    }
+
+    @Test
+    void writesTheSameReleaseDateFormatInBothOutputs() throws IOException {
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+
+        exportService.exportNdjson(ndjson);
+        exportService.exportCsv(csv);
+
+        assertThat(gunzip(ndjson)).contains("\"releaseDate\":\"16/07/2010\"");
+        assertThat(gunzip(csv)).endsWith("1,Inception,\"Dreams, within dreams\",16/07/2010,8.8,1|2,3\n");
+    }
+
+    @Test
+    void doesNotFlushTheStreamAfterEveryRow() throws IOException {
+        doAnswer(invocation -> {
+            Consumer<MovieExportRow> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= 100; id++) {
+                consumer.accept(new MovieExportRow(id, "Movie " + id, "", LocalDate.of(2010, 7, 16), 7.0, List.of(), List.of()));
+            }
+            return null;
+        }).when(movieService).exportAll(any());
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        exportService.exportNdjson(ndjson);
+
+        assertThat(gunzip(ndjson).lines()).hasSize(100);
+        assertThat(flushes).hasValueLessThanOrEqualTo(1);
+    }
+
+    private static String gunzip(ByteArrayOutputStream compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
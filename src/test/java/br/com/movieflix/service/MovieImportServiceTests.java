@@ -0,0 +1,107 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.controller.response.BulkImportErrorResponse;
+import br.com.movieflix.controller.response.BulkImportResponse;
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.repository.MovieRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "movieflix.movie.bulk-batch-size=7",
+        "movieflix.movie.bulk-max-errors=3"
+})
+class MovieImportServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void countsEveryFailureButReportsOnlyTheFirstOnes() throws IOException {
+        String body = """
+                {"title": "First", "rating": 7}
+                {"rating": 5}
+                {"title": "Second", "releaseDate": "not a date"}
+                {"title": "Third", "releaseDate": "16/07/2010"}
+                {"title": ""}
+                {"rating": 1}
+                """;
+
+        BulkImportResponse response = this.importMovies(body);
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(4);
+        assertThat(response.errors()).extracting(BulkImportErrorResponse::row).containsExactly(2L, 3L, 5L);
+    }
+
+    // ids the import reserves with nextval must never collide with the blocks Hibernate's pooled optimizer hands out
+    @Test
+    void reservedIdsDoNotOverlapHibernateAllocation() throws IOException {
+        long before = movieRepository.count();
+        List<Long> savedIds = new ArrayList<>();
+
+        savedIds.add(movieService.save(movie("Hibernate before")).getId());
+        BulkImportResponse first = this.importMovies(rows(120));
+        for (int i = 0; i < Movie.ID_ALLOCATION_SIZE + 10; i++) {
+            savedIds.add(movieService.save(movie("Hibernate after " + i)).getId());
+        }
+        BulkImportResponse second = this.importMovies(rows(30));
+
+        assertThat(first.failed()).isZero();
+        assertThat(second.failed()).isZero();
+        assertThat(savedIds).doesNotHaveDuplicates();
+        assertThat(movieRepository.count()).isEqualTo(before + 120 + 30 + savedIds.size());
+    }
+
+    private BulkImportResponse importMovies(String body) throws IOException {
+        return movieImportService.importMovies(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"title\": \"Imported " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static Movie movie(String title) {
+        return Movie.builder()
+                .title(title)
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.entity.Movie;
+import br.com.movieflix.entity.User;
+import br.com.movieflix.repository.MovieRatingTotals;
+import br.com.movieflix.repository.MovieRepository;
+import br.com.movieflix.repository.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MovieRatingServiceTests {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private MovieRatingService movieRatingService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Movie movie;
+
+    private List<User> users;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(Movie.builder()
+                .title("Rated")
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build());
+        users = userRepository.saveAll(List.of(user("first"), user("second")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        movieRepository.deleteById(movie.getId());
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void keepsTotalsInMemoryUntilTheFlushAndMatchesTheSqlAverage() {
+        movieRatingService.rate(movie.getId(), users.get(0).getId(), 8);
+        movieRatingService.rate(movie.getId(), users.get(1).getId(), 4);
+        movieRatingService.rate(movie.getId(), users.get(0).getId(), 10);
+
+        assertThat(this.summaryRows()).isZero();
+        assertThat(movieRatingService.findTotals(movie.getId())).contains(new MovieRatingTotals(2, 14));
+
+        movieRatingService.flush();
+
+        assertThat(this.summaryRows()).isOne();
+        assertThat(movieRatingService.findTotals(movie.getId())).get()
+                .extracting(MovieRatingTotals::average)
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT avg(score)::float8 FROM movie_rating WHERE movie_id = ?", Double.class, movie.getId()));
+    }
+
+    @Test
+    void reconcileRecountsSettledMoviesAndLeavesRecentOnesToTheFlush() {
+        Movie lost = movieRepository.save(Movie.builder()
+                .title("Lost deltas")
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build());
+        // ratings whose deltas died with another instance, and a summary that only saw the first of them
+        jdbcTemplate.update("INSERT INTO movie_rating (movie_id, user_id, score, rated_at) VALUES (?, ?, 6, localtimestamp - interval '10 minutes'), (?, ?, 9, localtimestamp - interval '10 minutes')",
+                lost.getId(), users.get(0).getId(), lost.getId(), users.get(1).getId());
+        jdbcTemplate.update("INSERT INTO movie_rating_summary (movie_id, rating_count, rating_sum) VALUES (?, 1, 6)", lost.getId());
+        movieRatingService.rate(movie.getId(), users.get(0).getId(), 7);
+
+        movieRatingService.reconcile();
+
+        assertThat(movieRatingService.findTotals(lost.getId())).contains(new MovieRatingTotals(2, 15));
+        assertThat(this.summaryRows()).isZero();
+
+        movieRatingService.flush();
+
+        assertThat(movieRatingService.findTotals(movie.getId())).contains(new MovieRatingTotals(1, 7));
+        movieRepository.deleteById(lost.getId());
+    }
+
+    @Test
+    void doesNotRateAMissingMovie() {
+        assertThat(movieRatingService.rate(Long.MAX_VALUE, users.get(0).getId(), 5)).isEmpty();
+        assertThat(movieRatingService.findTotals(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void accumulatorLosesAndSplitsNoDeltaWhileDraining() throws InterruptedException {
+        MovieRatingAccumulator accumulator = new MovieRatingAccumulator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        IntStream.range(0, 40_000).forEach(i -> executor.execute(() -> accumulator.add((long) i % 8, new MovieRatingTotals(1, 3))));
+        executor.shutdown();
+
+        MovieRatingTotals drained = MovieRatingTotals.EMPTY;
+        boolean terminated;
+        do {
+            terminated = executor.awaitTermination(1, TimeUnit.MILLISECONDS);
+            for (MovieRatingTotals totals : accumulator.drain().values()) {
+                // a count drained without its sum, or the other way round, breaks the 1:3 ratio
+                assertThat(totals.sum()).isEqualTo(3 * totals.count());
+                drained = drained.plus(totals);
+            }
+        } while (!terminated);
+
+        assertThat(drained).isEqualTo(new MovieRatingTotals(40_000, 120_000));
+    }
+
+    private int summaryRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM movie_rating_summary WHERE movie_id = ?", Integer.class, movie.getId());
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .name(name)
+                .email(name + System.nanoTime() + "@rating.test")
+                .password("secret")
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.movieflix.service;
+
+import br.com.movieflix.entity.Movie;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovieResponseCacheTests {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private final MovieResponseCache cache = new MovieResponseCache(new ObjectMapper().findAndRegisterModules(), 10, Duration.ofMinutes(1), 256);
+
+    @Test
+    void servesTheBodyOnlyForTheVersionItWasSerializedFrom() {
+        cache.put(movie("short"));
+
+        assertThat(cache.get(1L, UPDATED_AT)).get().extracting(body -> new String(body.json()))
+                .asString().contains("\"title\":\"short\"");
+        assertThat(cache.get(1L, UPDATED_AT.plusSeconds(1))).isEmpty();
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L, UPDATED_AT)).isEmpty();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void precompressesOnlyLargeBodies() throws IOException {
+        assertThat(cache.put(movie("short")).gzip()).isNull();
+
+        MovieResponseBody body = cache.put(movie("long ".repeat(100)));
+
+        assertThat(body.gzip()).isNotNull().hasSizeLessThan(body.json().length);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body.gzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(body.json());
+        }
+    }
+
+    private Movie movie(String title) {
+        return Movie.builder()
+                .id(1L)
+                .title(title)
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .rating(7)
+                .updatedAt(UPDATED_AT)
+                .categories(new ArrayList<>())
+                .streaming(new ArrayList<>())
+                .build();
+    }
+}